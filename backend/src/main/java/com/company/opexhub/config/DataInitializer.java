@@ -1,12 +1,9 @@
 package com.company.opexhub.config;
 
 import com.company.opexhub.entity.User;
-import com.company.opexhub.entity.Initiative;
-import com.company.opexhub.entity.WorkflowStage;
 import com.company.opexhub.entity.WfMaster;
 import com.company.opexhub.repository.UserRepository;
 import com.company.opexhub.repository.InitiativeRepository;
-import com.company.opexhub.repository.WorkflowStageRepository;
 import com.company.opexhub.repository.WfMasterRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
@@ -25,9 +22,6 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private InitiativeRepository initiativeRepository;
 
-    @Autowired
-    private WorkflowStageRepository workflowStageRepository;
-
     @Autowired
     private WfMasterRepository wfMasterRepository;
 
@@ -38,11 +32,11 @@ public class DataInitializer implements CommandLineRunner {
             initializeUsers();
         }
         
-        // Check if workflow stages need to be initialized for existing initiatives
-        initializeWorkflowStages();
-        
         // Initialize workflow master data
         initializeWfMaster();
+        
+        // Backfill workflow progress counters for initiatives created before they were tracked
+        initializeProgressCounters();
     }
 
     private void initializeUsers() {
@@ -111,59 +105,18 @@ public class DataInitializer implements CommandLineRunner {
         System.out.println("========================");
     }
 
-    private void initializeWorkflowStages() {
-        // Workflow stage definitions with proper names and roles (11 stages)
-        String[][] stageDefinitions = {
-            {"1", "Register Initiative", "STLD"},
-            {"2", "Approval", "SH"},
-            {"3", "Define Responsibilities", "EH"},
-            {"4", "MOC Stage", "IL"},
-            {"5", "CAPEX Stage", "IL"},
-            {"6", "Initiative Timeline Tracker", "IL"},
-            {"7", "Trial Implementation & Performance Check", "STLD"},
-            {"8", "Periodic Status Review with CMO", "CTSD"},
-            {"9", "Savings Monitoring (1 Month)", "STLD"},
-            {"10", "Saving Validation with F&A", "STLD"},
-            {"11", "Initiative Closure", "STLD"}
-        };
-
-        // Initialize workflow stages for all initiatives that don't have them
-        for (Initiative initiative : initiativeRepository.findAll()) {
-            if (workflowStageRepository.findByInitiativeIdOrderByStageNumber(initiative.getId()).isEmpty()) {
-                for (String[] stageDef : stageDefinitions) {
-                    WorkflowStage stage = new WorkflowStage();
-                    stage.setStageNumber(Integer.parseInt(stageDef[0]));
-                    stage.setStageName(stageDef[1]);
-                    stage.setRequiredRole(stageDef[2]);
-                    stage.setInitiative(initiative);
-                    
-                    // Set status based on current stage
-                    if (Integer.parseInt(stageDef[0]) < initiative.getCurrentStage()) {
-                        stage.setStatus("approved");
-                        stage.setApprovedBy("System");
-                    } else if (Integer.parseInt(stageDef[0]) == initiative.getCurrentStage()) {
-                        stage.setStatus("pending");
-                    } else {
-                        stage.setStatus("not_started");
-                    }
-                    
-                    workflowStageRepository.save(stage);
-                }
-                System.out.println("Initialized workflow stages for initiative: " + initiative.getTitle());
-            }
-        }
-    }
-
     private void initializeWfMaster() {
         // Check if wf_master data already exists
         if (wfMasterRepository.count() == 0) {
             // Initialize WF Master data for NDS site with correct stage assignments
-            // IL stages (4,5,6) are dynamic and will be created when EH selects Initiative Lead
+            // IL stages (4,5,6) have no fixed user - the IL selected by EH at Stage 3 is assigned to all three
             String[][] wfMasterData = {
                 {"1", "Register Initiative", "STLD", "manoj.tiwari@godeepak.com"},
                 {"2", "Site Head Approval", "SH", "priya.sharma@godeepak.com"},
                 {"3", "Engineering Head Approval", "EH", "amit.patel@godeepak.com"},
-                // IL stages removed - they will be created dynamically after Stage 3
+                {"4", "MOC Stage", "IL", null},
+                {"5", "CAPEX Stage", "IL", null},
+                {"6", "Initiative Timeline Tracker", "IL", null},
                 {"7", "Trial Implementation & Performance Check", "STLD", "vikram.gupta@godeepak.com"},
                 {"8", "Periodic Status Review with CMO", "CTSD", "kavya.nair@godeepak.com"},
                 {"9", "Savings Monitoring (1 Month)", "STLD", "suresh.reddy@godeepak.com"},
@@ -185,4 +138,12 @@ public class DataInitializer implements CommandLineRunner {
             System.out.println("WF Master data initialized successfully for NDS site!");
         }
     }
+
+    private void initializeProgressCounters() {
+        int backfilled = initiativeRepository.backfillStageCounts();
+        initiativeRepository.backfillProgressPercentage();
+        if (backfilled > 0) {
+            System.out.println("Backfilled workflow progress counters for " + backfilled + " initiatives");
+        }
+    }
 }
\ No newline at end of file
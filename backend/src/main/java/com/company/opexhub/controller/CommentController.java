@@ -2,9 +2,11 @@ package com.company.opexhub.controller;
 
 import com.company.opexhub.dto.ApiResponse;
 import com.company.opexhub.entity.Comment;
+import com.company.opexhub.entity.User;
 import com.company.opexhub.security.UserPrincipal;
 import com.company.opexhub.service.CommentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -16,12 +18,29 @@ import java.util.List;
 @RequestMapping("/api/comments")
 public class CommentController {
 
+    @Autowired
+    private ConditionalGetSupport conditionalGet;
+
     @Autowired
     private CommentService commentService;
 
     @GetMapping("/initiative/{initiativeId}")
-    public List<Comment> getCommentsByInitiative(@PathVariable Long initiativeId) {
-        return commentService.getCommentsByInitiative(initiativeId);
+    public ResponseEntity<List<Comment>> getCommentsByInitiative(
+            @PathVariable Long initiativeId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalGet.forCollections(ifNoneMatch,
+                () -> ResponseEntity.ok(commentService.getCommentsByInitiative(initiativeId)),
+                Comment.class, User.class);
+    }
+
+    @GetMapping(value = "/initiative/{initiativeId}", params = "fields")
+    public ResponseEntity<?> getCommentFieldsByInitiative(@PathVariable Long initiativeId, @RequestParam String fields) {
+        try {
+            return ResponseEntity.ok(commentService.getCommentFieldsByInitiative(initiativeId, fields));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
     }
 
     @PostMapping
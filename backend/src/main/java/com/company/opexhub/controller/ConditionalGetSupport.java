@@ -0,0 +1,78 @@
+package com.company.opexhub.controller;
+
+import com.company.opexhub.service.ChangeCounters;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Strong ETags for GET endpoints. The tag is worked out before anything is loaded, so a matching
+ * If-None-Match is answered with 304 without running the query or serializing the body.
+ */
+@Component
+public class ConditionalGetSupport {
+
+    // Lets the browser keep the body but makes it revalidate on every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    @Autowired
+    private ChangeCounters changeCounters;
+
+    // Lists: tagged with the change counters of every entity the response is built from
+    public <T> ResponseEntity<T> forCollections(String ifNoneMatch, Supplier<ResponseEntity<T>> loader,
+                                                Class<?>... entityClasses) {
+        return conditional(ifNoneMatch, "\"" + changeCounters.tag(entityClasses) + "\"", loader);
+    }
+
+    // Single rows: tagged with the @Version column, plus the counters of any collections the row
+    // is serialized with. An empty version means the row does not exist, which the loader reports.
+    public <T> ResponseEntity<T> forVersion(String ifNoneMatch, Optional<Long> version,
+                                            Supplier<ResponseEntity<T>> loader, Class<?>... nestedEntityClasses) {
+        if (!version.isPresent()) {
+            return loader.get();
+        }
+        String tag = "v" + version.get();
+        if (nestedEntityClasses.length > 0) {
+            tag += "-" + changeCounters.tag(nestedEntityClasses);
+        }
+        return conditional(ifNoneMatch, "\"" + tag + "\"", loader);
+    }
+
+    private static <T> ResponseEntity<T> conditional(String ifNoneMatch, String eTag,
+                                                     Supplier<ResponseEntity<T>> loader) {
+        if (matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+        ResponseEntity<T> response = loader.get();
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .eTag(eTag)
+                .cacheControl(REVALIDATE)
+                .body(response.getBody());
+    }
+
+    // If-None-Match uses weak comparison, so a W/ prefix added by a proxy still matches
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,41 +1,135 @@
 package com.company.opexhub.controller;
 
 import com.company.opexhub.dto.ApiResponse;
+import com.company.opexhub.dto.CursorPage;
+import com.company.opexhub.dto.InitiativeFilter;
+import com.company.opexhub.dto.InitiativeImportResult;
 import com.company.opexhub.dto.InitiativeRequest;
 import com.company.opexhub.dto.InitiativeResponse;
+import com.company.opexhub.dto.InitiativeSummary;
+import com.company.opexhub.entity.Comment;
 import com.company.opexhub.entity.Initiative;
+import com.company.opexhub.entity.TimelineTask;
+import com.company.opexhub.entity.User;
 import com.company.opexhub.security.UserPrincipal;
+import com.company.opexhub.service.InitiativeImportService;
 import com.company.opexhub.service.InitiativeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Valid;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/initiatives")
 public class InitiativeController {
 
+    @Autowired
+    private ConditionalGetSupport conditionalGet;
+
     @Autowired
     private InitiativeService initiativeService;
 
+    @Autowired
+    private InitiativeImportService initiativeImportService;
+
+    // Filters (status, site, discipline, priority, currentStage, date and savings ranges) bind from
+    // query parameters of the same name; see InitiativeFilter
     @GetMapping
-    public Page<Initiative> getAllInitiatives(
-            @RequestParam(required = false) String status,
-            @RequestParam(required = false) String site,
+    public ResponseEntity<Page<InitiativeSummary>> getAllInitiatives(
+            InitiativeFilter filter,
             @RequestParam(required = false) String search,
-            Pageable pageable) {
-        return initiativeService.searchInitiatives(status, site, search, pageable);
+            Pageable pageable,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalGet.forCollections(ifNoneMatch,
+                () -> ResponseEntity.ok(initiativeService.searchInitiatives(filter, search, pageable)),
+                Initiative.class, User.class);
+    }
+
+    // Keyset mode, selected by the presence of a cursor (empty for the first page); takes the same
+    // filters as the paged list
+    @GetMapping(params = "cursor")
+    public ResponseEntity<?> getInitiativesAfter(
+            InitiativeFilter filter,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (size < 1 || size > 100) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "Size must be between 1 and 100"));
+        }
+        return conditionalGet.forCollections(ifNoneMatch, () -> {
+            try {
+                CursorPage<InitiativeSummary> page = initiativeService.getInitiativesAfter(filter, cursor, size, includeTotal);
+                return ResponseEntity.ok(page);
+            } catch (Exception e) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse(false, e.getMessage()));
+            }
+        }, Initiative.class, User.class);
+    }
+
+    // Sparse fieldsets, e.g. fields=title,status,expectedSavings; rows carry only those keys plus id
+    @GetMapping(params = "fields")
+    public ResponseEntity<?> getInitiativeFields(
+            InitiativeFilter filter,
+            @RequestParam(required = false) String search,
+            @RequestParam String fields,
+            Pageable pageable,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalGet.forCollections(ifNoneMatch, () -> {
+            try {
+                Page<Map<String, Object>> page = initiativeService.searchInitiativeFields(filter, search, fields, pageable);
+                return ResponseEntity.ok(page);
+            } catch (Exception e) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse(false, e.getMessage()));
+            }
+        }, Initiative.class, User.class);
+    }
+
+    @GetMapping(params = {"cursor", "fields"})
+    public ResponseEntity<?> getInitiativeFieldsAfter(
+            InitiativeFilter filter,
+            @RequestParam String cursor,
+            @RequestParam String fields,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (size < 1 || size > 100) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "Size must be between 1 and 100"));
+        }
+        return conditionalGet.forCollections(ifNoneMatch, () -> {
+            try {
+                CursorPage<Map<String, Object>> page = initiativeService.getInitiativeFieldsAfter(filter, cursor,
+                        fields, size, includeTotal);
+                return ResponseEntity.ok(page);
+            } catch (Exception e) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse(false, e.getMessage()));
+            }
+        }, Initiative.class, User.class);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Initiative> getInitiativeById(@PathVariable Long id) {
-        return initiativeService.getInitiativeById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Initiative> getInitiativeById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // The body embeds the comments (with their authors) and timeline tasks, whose changes do not
+        // bump the initiative's version, so their tables count as well as the row version
+        return conditionalGet.forVersion(ifNoneMatch, initiativeService.getInitiativeVersion(id),
+                () -> initiativeService.getInitiativeById(id)
+                        .map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build()),
+                Comment.class, TimelineTask.class, User.class);
     }
 
     @PostMapping
@@ -73,6 +167,21 @@ public class InitiativeController {
         }
     }
 
+    // multipart/form-data with the CSV in "file"; the header row names the columns, as in an export.
+    // Rows that fail are reported by line number and do not stop the rest of the file.
+    @PostMapping("/import")
+    public ResponseEntity<?> importInitiatives(@RequestParam("file") MultipartFile file,
+                                               @AuthenticationPrincipal UserPrincipal currentUser) {
+        try (InputStream in = file.getInputStream()) {
+            InitiativeImportResult result = initiativeImportService.importInitiatives(in, currentUser.getId());
+            return ResponseEntity.ok(new ApiResponse(true, "Imported " + result.getImported() + " of "
+                    + result.getRowsRead() + " rows, " + result.getFailed() + " failed", result));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateInitiative(@PathVariable Long id,
                                             @Valid @RequestBody InitiativeRequest request) {
@@ -95,4 +204,17 @@ public class InitiativeController {
                     .body(new ApiResponse(false, e.getMessage()));
         }
     }
+
+    // Purges many initiatives, with all their dependent rows, in one transaction; body is a list of ids
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<?> deleteInitiatives(@RequestBody List<Long> ids) {
+        try {
+            List<Long> deleted = initiativeService.deleteInitiatives(ids);
+            return ResponseEntity.ok(new ApiResponse(true, "Deleted " + deleted.size() + " of "
+                    + ids.size() + " initiatives", deleted));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
 }
\ No newline at end of file
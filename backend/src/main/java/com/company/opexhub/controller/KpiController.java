@@ -0,0 +1,21 @@
+package com.company.opexhub.controller;
+
+import com.company.opexhub.dto.InitiativeFilter;
+import com.company.opexhub.dto.KpiSummary;
+import com.company.opexhub.service.KpiService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/kpi")
+public class KpiController {
+
+    @Autowired
+    private KpiService kpiService;
+
+    // Honours site, discipline and the start/end date ranges of InitiativeFilter
+    @GetMapping("/summary")
+    public KpiSummary getSummary(InitiativeFilter filter) {
+        return kpiService.getSummary(filter);
+    }
+}
@@ -4,6 +4,7 @@ import com.company.opexhub.dto.ApiResponse;
 import com.company.opexhub.entity.MonthlyMonitoringEntry;
 import com.company.opexhub.service.MonthlyMonitoringService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,18 +18,25 @@ import java.util.Optional;
 
 public class MonthlyMonitoringController {
 
+    @Autowired
+    private ConditionalGetSupport conditionalGet;
+
     @Autowired
     private MonthlyMonitoringService monthlyMonitoringService;
 
     @GetMapping("/{initiativeId}")
-    public ResponseEntity<ApiResponse<List<MonthlyMonitoringEntry>>> getMonitoringEntries(@PathVariable Long initiativeId) {
-        try {
-            List<MonthlyMonitoringEntry> entries = monthlyMonitoringService.getMonitoringEntriesByInitiative(initiativeId);
-            return ResponseEntity.ok(new ApiResponse<>(true, "Monitoring entries retrieved successfully", entries));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                    .body(new ApiResponse<>(false, "Error retrieving monitoring entries: " + e.getMessage(), null));
-        }
+    public ResponseEntity<ApiResponse<List<MonthlyMonitoringEntry>>> getMonitoringEntries(
+            @PathVariable Long initiativeId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalGet.forCollections(ifNoneMatch, () -> {
+            try {
+                List<MonthlyMonitoringEntry> entries = monthlyMonitoringService.getMonitoringEntriesByInitiative(initiativeId);
+                return ResponseEntity.ok(new ApiResponse<>(true, "Monitoring entries retrieved successfully", entries));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse<>(false, "Error retrieving monitoring entries: " + e.getMessage(), null));
+            }
+        }, MonthlyMonitoringEntry.class);
     }
 
     @GetMapping("/{initiativeId}/month/{monthYear}")
@@ -46,18 +54,22 @@ public class MonthlyMonitoringController {
     }
 
     @GetMapping("/entry/{id}")
-    public ResponseEntity<ApiResponse<MonthlyMonitoringEntry>> getMonitoringEntryById(@PathVariable Long id) {
-        try {
-            Optional<MonthlyMonitoringEntry> entry = monthlyMonitoringService.getMonitoringEntryById(id);
-            if (entry.isPresent()) {
-                return ResponseEntity.ok(new ApiResponse<>(true, "Monitoring entry retrieved successfully", entry.get()));
-            } else {
-                return ResponseEntity.notFound().build();
+    public ResponseEntity<ApiResponse<MonthlyMonitoringEntry>> getMonitoringEntryById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalGet.forVersion(ifNoneMatch, monthlyMonitoringService.getMonitoringEntryVersion(id), () -> {
+            try {
+                Optional<MonthlyMonitoringEntry> entry = monthlyMonitoringService.getMonitoringEntryById(id);
+                if (entry.isPresent()) {
+                    return ResponseEntity.ok(new ApiResponse<>(true, "Monitoring entry retrieved successfully", entry.get()));
+                } else {
+                    return ResponseEntity.notFound().build();
+                }
+            } catch (Exception e) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse<>(false, "Error retrieving monitoring entry: " + e.getMessage(), null));
             }
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                    .body(new ApiResponse<>(false, "Error retrieving monitoring entry: " + e.getMessage(), null));
-        }
+        });
     }
 
     @PostMapping("/{initiativeId}")
@@ -0,0 +1,56 @@
+package com.company.opexhub.controller;
+
+import com.company.opexhub.dto.ApiResponse;
+import com.company.opexhub.dto.InitiativeFilter;
+import com.company.opexhub.security.AccessTicketService;
+import com.company.opexhub.security.UserPrincipal;
+import com.company.opexhub.service.ReportExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collections;
+
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Autowired
+    private AccessTicketService accessTicketService;
+
+    // Exchanged for an export URL the browser can download directly, streaming to disk; see AccessTicketService
+    @PostMapping("/export-ticket")
+    public ResponseEntity<?> issueExportTicket(@AuthenticationPrincipal UserPrincipal currentUser) {
+        String ticket = accessTicketService.issue(currentUser.getId(), AccessTicketService.REPORT_EXPORT);
+        return ResponseEntity.ok(new ApiResponse(true, "Export ticket issued", Collections.singletonMap("ticket", ticket)));
+    }
+
+    // Written straight to the servlet response so the export is never buffered, whatever its size
+    @GetMapping("/export")
+    public ResponseEntity<?> exportInitiatives(InitiativeFilter filter,
+                                               @RequestParam(defaultValue = "csv") String format,
+                                               HttpServletResponse response) throws IOException {
+        ReportExportService.Format exportFormat;
+        try {
+            exportFormat = ReportExportService.Format.fromParameter(format);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        }
+
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"initiatives-"
+                + LocalDate.now() + "." + exportFormat.getExtension() + "\"");
+        reportExportService.exportInitiatives(filter, exportFormat, response.getOutputStream());
+        response.flushBuffer();
+        // The response has been written, so there is no body for Spring MVC to render
+        return null;
+    }
+}
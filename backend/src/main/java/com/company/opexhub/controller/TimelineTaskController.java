@@ -4,6 +4,7 @@ import com.company.opexhub.dto.ApiResponse;
 import com.company.opexhub.entity.TimelineTask;
 import com.company.opexhub.service.TimelineTaskService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,19 +15,39 @@ import java.util.List;
 @RequestMapping("/api/timeline-tasks")
 public class TimelineTaskController {
 
+    @Autowired
+    private ConditionalGetSupport conditionalGet;
+
     @Autowired
     private TimelineTaskService timelineTaskService;
 
     @GetMapping("/initiative/{initiativeId}")
-    public List<TimelineTask> getTasksByInitiative(@PathVariable Long initiativeId) {
-        return timelineTaskService.getTasksByInitiative(initiativeId);
+    public ResponseEntity<List<TimelineTask>> getTasksByInitiative(
+            @PathVariable Long initiativeId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalGet.forCollections(ifNoneMatch,
+                () -> ResponseEntity.ok(timelineTaskService.getTasksByInitiative(initiativeId)),
+                TimelineTask.class);
+    }
+
+    @GetMapping(value = "/initiative/{initiativeId}", params = "fields")
+    public ResponseEntity<?> getTaskFieldsByInitiative(@PathVariable Long initiativeId, @RequestParam String fields) {
+        try {
+            return ResponseEntity.ok(timelineTaskService.getTaskFieldsByInitiative(initiativeId, fields));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TimelineTask> getTaskById(@PathVariable Long id) {
-        return timelineTaskService.getTaskById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<TimelineTask> getTaskById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalGet.forVersion(ifNoneMatch, timelineTaskService.getTaskVersion(id),
+                () -> timelineTaskService.getTaskById(id)
+                        .map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build()));
     }
 
     @PostMapping
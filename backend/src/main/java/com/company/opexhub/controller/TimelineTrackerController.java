@@ -4,6 +4,7 @@ import com.company.opexhub.dto.ApiResponse;
 import com.company.opexhub.entity.TimelineEntry;
 import com.company.opexhub.service.TimelineEntryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,33 +16,44 @@ import java.util.Optional;
 
 public class TimelineTrackerController {
 
+    @Autowired
+    private ConditionalGetSupport conditionalGet;
+
     @Autowired
     private TimelineEntryService timelineEntryService;
 
     @GetMapping("/{initiativeId}")
-    public ResponseEntity<ApiResponse<List<TimelineEntry>>> getTimelineEntries(@PathVariable Long initiativeId) {
-        try {
-            List<TimelineEntry> entries = timelineEntryService.getTimelineEntriesByInitiative(initiativeId);
-            return ResponseEntity.ok(new ApiResponse<>(true, "Timeline entries retrieved successfully", entries));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                    .body(new ApiResponse<>(false, "Error retrieving timeline entries: " + e.getMessage(), null));
-        }
+    public ResponseEntity<ApiResponse<List<TimelineEntry>>> getTimelineEntries(
+            @PathVariable Long initiativeId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalGet.forCollections(ifNoneMatch, () -> {
+            try {
+                List<TimelineEntry> entries = timelineEntryService.getTimelineEntriesByInitiative(initiativeId);
+                return ResponseEntity.ok(new ApiResponse<>(true, "Timeline entries retrieved successfully", entries));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse<>(false, "Error retrieving timeline entries: " + e.getMessage(), null));
+            }
+        }, TimelineEntry.class);
     }
 
     @GetMapping("/entry/{id}")
-    public ResponseEntity<ApiResponse<TimelineEntry>> getTimelineEntryById(@PathVariable Long id) {
-        try {
-            Optional<TimelineEntry> entry = timelineEntryService.getTimelineEntryById(id);
-            if (entry.isPresent()) {
-                return ResponseEntity.ok(new ApiResponse<>(true, "Timeline entry retrieved successfully", entry.get()));
-            } else {
-                return ResponseEntity.notFound().build();
+    public ResponseEntity<ApiResponse<TimelineEntry>> getTimelineEntryById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalGet.forVersion(ifNoneMatch, timelineEntryService.getTimelineEntryVersion(id), () -> {
+            try {
+                Optional<TimelineEntry> entry = timelineEntryService.getTimelineEntryById(id);
+                if (entry.isPresent()) {
+                    return ResponseEntity.ok(new ApiResponse<>(true, "Timeline entry retrieved successfully", entry.get()));
+                } else {
+                    return ResponseEntity.notFound().build();
+                }
+            } catch (Exception e) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse<>(false, "Error retrieving timeline entry: " + e.getMessage(), null));
             }
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                    .body(new ApiResponse<>(false, "Error retrieving timeline entry: " + e.getMessage(), null));
-        }
+        });
     }
 
     @PostMapping("/{initiativeId}")
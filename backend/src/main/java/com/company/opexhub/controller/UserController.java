@@ -2,24 +2,50 @@ package com.company.opexhub.controller;
 
 import com.company.opexhub.dto.ApiResponse;
 import com.company.opexhub.entity.User;
+import com.company.opexhub.repository.FieldSetQuery;
 import com.company.opexhub.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
 
+    @Autowired
+    private ConditionalGetSupport conditionalGet;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private FieldSetQuery fieldSetQuery;
+
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<User>> getAllUsers(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalGet.forCollections(ifNoneMatch, () -> {
+            List<User> users = userRepository.findAll();
+            return ResponseEntity.ok(users);
+        }, User.class);
+    }
+
+    @GetMapping(params = "fields")
+    public ResponseEntity<?> getAllUserFields(@RequestParam String fields) {
+        try {
+            List<String> columns = fieldSetQuery.resolve(User.class, fields, Collections.emptyMap());
+            List<Map<String, Object>> users = fieldSetQuery.selectEqual(User.class, columns, Collections.emptyMap(),
+                    null, null, Sort.unsorted());
+            return ResponseEntity.ok(users);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
     }
 
     @GetMapping("/site/{site}")
@@ -0,0 +1,60 @@
+package com.company.opexhub.controller;
+
+import com.company.opexhub.dto.ApiResponse;
+import com.company.opexhub.dto.StageDwellSummary;
+import com.company.opexhub.entity.WorkflowEscalation;
+import com.company.opexhub.entity.WorkflowOutboxEvent;
+import com.company.opexhub.service.WorkflowAnalyticsService;
+import com.company.opexhub.service.WorkflowEscalationService;
+import com.company.opexhub.service.WorkflowOutboxDispatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/workflow-analytics")
+public class WorkflowAnalyticsController {
+
+    @Autowired
+    private WorkflowAnalyticsService workflowAnalyticsService;
+
+    @Autowired
+    private WorkflowEscalationService workflowEscalationService;
+
+    @Autowired
+    private WorkflowOutboxDispatcher workflowOutboxDispatcher;
+
+    @GetMapping
+    public List<StageDwellSummary> getStageDwell(@RequestParam(required = false) String site) {
+        return workflowAnalyticsService.getStageDwell(site);
+    }
+
+    @GetMapping("/bottlenecks")
+    public List<StageDwellSummary> getBottlenecks(@RequestParam(required = false) String site,
+                                                  @RequestParam(defaultValue = "3") int limit) {
+        return workflowAnalyticsService.getBottlenecks(site, limit);
+    }
+
+    @GetMapping("/escalations")
+    public List<WorkflowEscalation> getEscalations(@RequestParam(required = false) String site,
+                                                   @RequestParam(defaultValue = "50") int limit) {
+        return workflowEscalationService.getRecentEscalations(site, limit);
+    }
+
+    @GetMapping("/outbox")
+    public List<WorkflowOutboxEvent> getRetryingOutboxEvents(@RequestParam(defaultValue = "50") int limit) {
+        return workflowOutboxDispatcher.getRetryingEvents(limit);
+    }
+
+    @PostMapping("/outbox/{id}/retry")
+    public ResponseEntity<?> retryOutboxEvent(@PathVariable Long id) {
+        try {
+            workflowOutboxDispatcher.retryNow(id);
+            return ResponseEntity.ok(new ApiResponse(true, "Workflow outbox event queued for retry"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+}
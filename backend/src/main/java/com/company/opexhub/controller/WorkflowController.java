@@ -1,7 +1,7 @@
 package com.company.opexhub.controller;
 
 import com.company.opexhub.dto.ApiResponse;
-import com.company.opexhub.entity.WorkflowStage;
+import com.company.opexhub.dto.WorkflowStageView;
 import com.company.opexhub.security.UserPrincipal;
 import com.company.opexhub.service.WorkflowService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,7 +20,7 @@ public class WorkflowController {
     private WorkflowService workflowService;
 
     @GetMapping("/initiative/{initiativeId}")
-    public List<WorkflowStage> getWorkflowStages(@PathVariable Long initiativeId) {
+    public List<WorkflowStageView> getWorkflowStages(@PathVariable Long initiativeId) {
         return workflowService.getWorkflowStages(initiativeId);
     }
 
@@ -33,7 +33,10 @@ public class WorkflowController {
             if (comments == null || comments.trim().isEmpty()) {
                 return ResponseEntity.badRequest().body(new ApiResponse(false, "Comments are required for approval"));
             }
-            WorkflowStage stage = workflowService.approveStage(stageId, currentUser.getFullName(), comments);
+            // Approving the stage that assigns the Initiative Lead needs the assignee as well
+            Long assignedUserId = requestBody.get("assignedUserId") != null
+                    ? Long.valueOf(requestBody.get("assignedUserId")) : null;
+            WorkflowStageView stage = workflowService.approveStage(stageId, currentUser.getFullName(), comments, assignedUserId);
             return ResponseEntity.ok(new ApiResponse(true, "Stage approved successfully", stage));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -50,7 +53,7 @@ public class WorkflowController {
             if (comments == null || comments.trim().isEmpty()) {
                 return ResponseEntity.badRequest().body(new ApiResponse(false, "Comments are required for rejection"));
             }
-            WorkflowStage stage = workflowService.rejectStage(stageId, currentUser.getFullName(), comments);
+            WorkflowStageView stage = workflowService.rejectStage(stageId, currentUser.getFullName(), comments);
             return ResponseEntity.ok(new ApiResponse(true, "Stage rejected", stage));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -59,7 +62,7 @@ public class WorkflowController {
     }
 
     @GetMapping("/pending/{userId}")
-    public List<WorkflowStage> getPendingApprovals(@PathVariable Long userId) {
+    public List<WorkflowStageView> getPendingApprovals(@PathVariable Long userId) {
         return workflowService.getPendingApprovals(userId);
     }
 }
\ No newline at end of file
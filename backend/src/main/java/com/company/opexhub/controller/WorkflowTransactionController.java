@@ -1,15 +1,29 @@
 package com.company.opexhub.controller;
 
 import com.company.opexhub.dto.ApiResponse;
+import com.company.opexhub.dto.StageActionRequest;
+import com.company.opexhub.dto.StageActionResult;
+import com.company.opexhub.dto.WorkflowStageState;
 import com.company.opexhub.dto.WorkflowTransactionDetailDTO;
+import com.company.opexhub.entity.WorkflowEvent;
 import com.company.opexhub.entity.WorkflowTransaction;
+import com.company.opexhub.security.AccessTicketService;
 import com.company.opexhub.security.UserPrincipal;
+import com.company.opexhub.service.WorkflowEventService;
+import com.company.opexhub.service.WorkflowInboxStreamService;
 import com.company.opexhub.service.WorkflowTransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -20,6 +34,15 @@ public class WorkflowTransactionController {
     @Autowired
     private WorkflowTransactionService workflowTransactionService;
 
+    @Autowired
+    private WorkflowEventService workflowEventService;
+
+    @Autowired
+    private WorkflowInboxStreamService workflowInboxStreamService;
+
+    @Autowired
+    private AccessTicketService accessTicketService;
+
     @GetMapping("/initiative/{initiativeId}")
     public List<WorkflowTransaction> getWorkflowTransactions(@PathVariable Long initiativeId) {
         return workflowTransactionService.getWorkflowTransactions(initiativeId);
@@ -30,6 +53,16 @@ public class WorkflowTransactionController {
         return workflowTransactionService.getVisibleWorkflowTransactions(initiativeId);
     }
 
+    @GetMapping("/history/{initiativeId}")
+    public List<WorkflowEvent> getWorkflowHistory(@PathVariable Long initiativeId) {
+        return workflowEventService.getHistory(initiativeId);
+    }
+
+    @GetMapping("/history/{initiativeId}/state")
+    public List<WorkflowStageState> getReplayedWorkflowState(@PathVariable Long initiativeId) {
+        return workflowEventService.replay(initiativeId);
+    }
+
     @GetMapping("/pending/{roleCode}")
     public List<WorkflowTransaction> getPendingTransactionsByRole(@PathVariable String roleCode) {
         return workflowTransactionService.getPendingTransactionsByRole(roleCode);
@@ -41,6 +74,26 @@ public class WorkflowTransactionController {
         return workflowTransactionService.getPendingTransactionsBySiteAndRole(site, roleCode);
     }
 
+    @GetMapping("/inbox")
+    public Page<WorkflowTransaction> getPendingInbox(@RequestParam(required = false) String site,
+                                                     @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.ASC) Pageable pageable,
+                                                     @AuthenticationPrincipal UserPrincipal currentUser) {
+        return workflowTransactionService.getPendingInbox(currentUser.getEmail(), site, pageable);
+    }
+
+    // Exchanged for the stream, which is opened with ?ticket= because EventSource cannot send the JWT
+    @PostMapping("/stream-ticket")
+    public ResponseEntity<?> issueStreamTicket(@AuthenticationPrincipal UserPrincipal currentUser) {
+        String ticket = accessTicketService.issue(currentUser.getId(), AccessTicketService.INBOX_STREAM);
+        return ResponseEntity.ok(new ApiResponse(true, "Stream ticket issued", Collections.singletonMap("ticket", ticket)));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamInbox(@RequestParam(required = false) String site,
+                                  @AuthenticationPrincipal UserPrincipal currentUser) {
+        return workflowInboxStreamService.subscribe(currentUser.getEmail(), site);
+    }
+
     @GetMapping("/current-pending/{initiativeId}")
     public ResponseEntity<?> getCurrentPendingStage(@PathVariable Long initiativeId) {
         return workflowTransactionService.getCurrentPendingStage(initiativeId)
@@ -54,6 +107,11 @@ public class WorkflowTransactionController {
         return ResponseEntity.ok(progress);
     }
 
+    @GetMapping("/{transactionId}/applied")
+    public ResponseEntity<Boolean> isStageActionApplied(@PathVariable Long transactionId) {
+        return ResponseEntity.ok(workflowTransactionService.isStageActionApplied(transactionId));
+    }
+
     @PostMapping("/{transactionId}/process")
     public ResponseEntity<?> processStageAction(@PathVariable Long transactionId,
                                               @RequestBody Map<String, Object> requestBody,
@@ -69,8 +127,18 @@ public class WorkflowTransactionController {
                         .body(new ApiResponse(false, "Comment is required"));
             }
 
+            StageActionRequest stageAction = new StageActionRequest(transactionId, action, comment, assignedUserId);
+            if (requestBody.get("requiresMoc") != null) {
+                stageAction.setRequiresMoc(Boolean.valueOf(requestBody.get("requiresMoc").toString()));
+                stageAction.setMocNumber((String) requestBody.get("mocNumber"));
+            }
+            if (requestBody.get("requiresCapex") != null) {
+                stageAction.setRequiresCapex(Boolean.valueOf(requestBody.get("requiresCapex").toString()));
+                stageAction.setCapexNumber((String) requestBody.get("capexNumber"));
+            }
+
             WorkflowTransaction transaction = workflowTransactionService.processStageAction(
-                    transactionId, action, comment, currentUser.getFullName(), assignedUserId);
+                    stageAction, currentUser.getFullName());
 
             return ResponseEntity.ok(new ApiResponse(true, 
                     "Stage " + action + " successfully", transaction));
@@ -80,4 +148,22 @@ public class WorkflowTransactionController {
                     .body(new ApiResponse(false, e.getMessage()));
         }
     }
+
+    @PostMapping("/bulk-process")
+    public ResponseEntity<?> processStageActions(@RequestBody List<StageActionRequest> requests,
+                                               @AuthenticationPrincipal UserPrincipal currentUser) {
+        try {
+            List<StageActionResult> results = workflowTransactionService.processStageActions(
+                    requests, currentUser.getFullName());
+
+            long succeeded = results.stream().filter(StageActionResult::getSuccess).count();
+            return ResponseEntity.ok(new ApiResponse(true,
+                    "Processed " + results.size() + " actions: " + succeeded + " succeeded, "
+                            + (results.size() - succeeded) + " failed", results));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.company.opexhub.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One line of the initiatives export: the initiative, its creator and its monthly monitoring
+ * totals, built by a JPQL constructor expression and streamed straight to the response.
+ */
+public class InitiativeExportRow {
+    private Long id;
+    private String title;
+    private String status;
+    private String priority;
+    private String site;
+    private String discipline;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer currentStage;
+    private String currentStageName;
+    private Integer progressPercentage;
+    private BigDecimal expectedSavings;
+    private BigDecimal actualSavings;
+    private BigDecimal monitoredTarget;
+    private BigDecimal monitoredAchieved;
+    private String createdByName;
+    private String createdByEmail;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public InitiativeExportRow() {}
+
+    public InitiativeExportRow(Long id, String title, String status, String priority, String site, String discipline,
+                               LocalDate startDate, LocalDate endDate, Integer currentStage, Integer progressPercentage,
+                               BigDecimal expectedSavings, BigDecimal actualSavings, BigDecimal monitoredTarget,
+                               BigDecimal monitoredAchieved, String createdByName, String createdByEmail,
+                               LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.status = status;
+        this.priority = priority;
+        this.site = site;
+        this.discipline = discipline;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.currentStage = currentStage;
+        this.progressPercentage = progressPercentage;
+        this.expectedSavings = expectedSavings;
+        this.actualSavings = actualSavings;
+        this.monitoredTarget = monitoredTarget;
+        this.monitoredAchieved = monitoredAchieved;
+        this.createdByName = createdByName;
+        this.createdByEmail = createdByEmail;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getPriority() { return priority; }
+    public void setPriority(String priority) { this.priority = priority; }
+
+    public String getSite() { return site; }
+    public void setSite(String site) { this.site = site; }
+
+    public String getDiscipline() { return discipline; }
+    public void setDiscipline(String discipline) { this.discipline = discipline; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public Integer getCurrentStage() { return currentStage; }
+    public void setCurrentStage(Integer currentStage) { this.currentStage = currentStage; }
+
+    public String getCurrentStageName() { return currentStageName; }
+    public void setCurrentStageName(String currentStageName) { this.currentStageName = currentStageName; }
+
+    public Integer getProgressPercentage() { return progressPercentage; }
+    public void setProgressPercentage(Integer progressPercentage) { this.progressPercentage = progressPercentage; }
+
+    public BigDecimal getExpectedSavings() { return expectedSavings; }
+    public void setExpectedSavings(BigDecimal expectedSavings) { this.expectedSavings = expectedSavings; }
+
+    public BigDecimal getActualSavings() { return actualSavings; }
+    public void setActualSavings(BigDecimal actualSavings) { this.actualSavings = actualSavings; }
+
+    public BigDecimal getMonitoredTarget() { return monitoredTarget; }
+    public void setMonitoredTarget(BigDecimal monitoredTarget) { this.monitoredTarget = monitoredTarget; }
+
+    public BigDecimal getMonitoredAchieved() { return monitoredAchieved; }
+    public void setMonitoredAchieved(BigDecimal monitoredAchieved) { this.monitoredAchieved = monitoredAchieved; }
+
+    public String getCreatedByName() { return createdByName; }
+    public void setCreatedByName(String createdByName) { this.createdByName = createdByName; }
+
+    public String getCreatedByEmail() { return createdByEmail; }
+    public void setCreatedByEmail(String createdByEmail) { this.createdByEmail = createdByEmail; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,77 @@
+package com.company.opexhub.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Optional filters for the initiatives list, bound from query parameters. Every field left null
+ * is ignored; the rest are ANDed together.
+ */
+public class InitiativeFilter {
+    private String status;
+    private String site;
+    private String discipline;
+    private String priority;
+    private Integer currentStage;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDateFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDateTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDateFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDateTo;
+
+    private BigDecimal minSavings;
+    private BigDecimal maxSavings;
+
+    // Constructors
+    public InitiativeFilter() {}
+
+    // True when nothing beyond status and site is set; the search index can apply those two itself
+    public boolean isStatusAndSiteOnly() {
+        return discipline == null && priority == null && currentStage == null
+                && startDateFrom == null && startDateTo == null && endDateFrom == null && endDateTo == null
+                && minSavings == null && maxSavings == null;
+    }
+
+    // Getters and Setters
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getSite() { return site; }
+    public void setSite(String site) { this.site = site; }
+
+    public String getDiscipline() { return discipline; }
+    public void setDiscipline(String discipline) { this.discipline = discipline; }
+
+    public String getPriority() { return priority; }
+    public void setPriority(String priority) { this.priority = priority; }
+
+    public Integer getCurrentStage() { return currentStage; }
+    public void setCurrentStage(Integer currentStage) { this.currentStage = currentStage; }
+
+    public LocalDate getStartDateFrom() { return startDateFrom; }
+    public void setStartDateFrom(LocalDate startDateFrom) { this.startDateFrom = startDateFrom; }
+
+    public LocalDate getStartDateTo() { return startDateTo; }
+    public void setStartDateTo(LocalDate startDateTo) { this.startDateTo = startDateTo; }
+
+    public LocalDate getEndDateFrom() { return endDateFrom; }
+    public void setEndDateFrom(LocalDate endDateFrom) { this.endDateFrom = endDateFrom; }
+
+    public LocalDate getEndDateTo() { return endDateTo; }
+    public void setEndDateTo(LocalDate endDateTo) { this.endDateTo = endDateTo; }
+
+    public BigDecimal getMinSavings() { return minSavings; }
+    public void setMinSavings(BigDecimal minSavings) { this.minSavings = minSavings; }
+
+    public BigDecimal getMaxSavings() { return maxSavings; }
+    public void setMaxSavings(BigDecimal maxSavings) { this.maxSavings = maxSavings; }
+}
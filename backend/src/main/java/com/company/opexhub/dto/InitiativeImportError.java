@@ -0,0 +1,21 @@
+package com.company.opexhub.dto;
+
+public class InitiativeImportError {
+    private Long line;
+    private String message;
+
+    // Constructors
+    public InitiativeImportError() {}
+
+    public InitiativeImportError(Long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public Long getLine() { return line; }
+    public void setLine(Long line) { this.line = line; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,28 @@
+package com.company.opexhub.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class InitiativeImportResult {
+    private long rowsRead;
+    private long imported;
+    private long failed;
+    // Capped, so a file of bad rows cannot produce an unbounded response; failed counts them all
+    private List<InitiativeImportError> errors = new ArrayList<>();
+
+    // Constructors
+    public InitiativeImportResult() {}
+
+    // Getters and Setters
+    public long getRowsRead() { return rowsRead; }
+    public void setRowsRead(long rowsRead) { this.rowsRead = rowsRead; }
+
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public List<InitiativeImportError> getErrors() { return errors; }
+    public void setErrors(List<InitiativeImportError> errors) { this.errors = errors; }
+}
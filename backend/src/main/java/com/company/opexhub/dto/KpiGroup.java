@@ -0,0 +1,40 @@
+package com.company.opexhub.dto;
+
+import java.math.BigDecimal;
+
+public class KpiGroup {
+    private String key;
+    private long count;
+    private BigDecimal expectedSavings = BigDecimal.ZERO;
+    private BigDecimal actualSavings = BigDecimal.ZERO;
+
+    // Constructors
+    public KpiGroup() {}
+
+    public KpiGroup(String key) {
+        this.key = key;
+    }
+
+    public void add(long count, BigDecimal expectedSavings, BigDecimal actualSavings) {
+        this.count += count;
+        if (expectedSavings != null) {
+            this.expectedSavings = this.expectedSavings.add(expectedSavings);
+        }
+        if (actualSavings != null) {
+            this.actualSavings = this.actualSavings.add(actualSavings);
+        }
+    }
+
+    // Getters and Setters
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public BigDecimal getExpectedSavings() { return expectedSavings; }
+    public void setExpectedSavings(BigDecimal expectedSavings) { this.expectedSavings = expectedSavings; }
+
+    public BigDecimal getActualSavings() { return actualSavings; }
+    public void setActualSavings(BigDecimal actualSavings) { this.actualSavings = actualSavings; }
+}
@@ -0,0 +1,37 @@
+package com.company.opexhub.dto;
+
+import java.util.List;
+
+/**
+ * Initiative counts and savings for the KPI dashboards: overall totals plus one group per
+ * status, site and priority.
+ */
+public class KpiSummary {
+    private KpiGroup total;
+    private List<KpiGroup> byStatus;
+    private List<KpiGroup> bySite;
+    private List<KpiGroup> byPriority;
+
+    // Constructors
+    public KpiSummary() {}
+
+    public KpiSummary(KpiGroup total, List<KpiGroup> byStatus, List<KpiGroup> bySite, List<KpiGroup> byPriority) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.bySite = bySite;
+        this.byPriority = byPriority;
+    }
+
+    // Getters and Setters
+    public KpiGroup getTotal() { return total; }
+    public void setTotal(KpiGroup total) { this.total = total; }
+
+    public List<KpiGroup> getByStatus() { return byStatus; }
+    public void setByStatus(List<KpiGroup> byStatus) { this.byStatus = byStatus; }
+
+    public List<KpiGroup> getBySite() { return bySite; }
+    public void setBySite(List<KpiGroup> bySite) { this.bySite = bySite; }
+
+    public List<KpiGroup> getByPriority() { return byPriority; }
+    public void setByPriority(List<KpiGroup> byPriority) { this.byPriority = byPriority; }
+}
@@ -0,0 +1,47 @@
+package com.company.opexhub.dto;
+
+public class StageActionRequest {
+    private Long transactionId;
+    private String action; // approved, rejected
+    private String comment;
+    private Long assignedUserId;
+    private Boolean requiresMoc;
+    private String mocNumber;
+    private Boolean requiresCapex;
+    private String capexNumber;
+
+    // Constructors
+    public StageActionRequest() {}
+
+    public StageActionRequest(Long transactionId, String action, String comment, Long assignedUserId) {
+        this.transactionId = transactionId;
+        this.action = action;
+        this.comment = comment;
+        this.assignedUserId = assignedUserId;
+    }
+
+    // Getters and Setters
+    public Long getTransactionId() { return transactionId; }
+    public void setTransactionId(Long transactionId) { this.transactionId = transactionId; }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+
+    public Long getAssignedUserId() { return assignedUserId; }
+    public void setAssignedUserId(Long assignedUserId) { this.assignedUserId = assignedUserId; }
+
+    public Boolean getRequiresMoc() { return requiresMoc; }
+    public void setRequiresMoc(Boolean requiresMoc) { this.requiresMoc = requiresMoc; }
+
+    public String getMocNumber() { return mocNumber; }
+    public void setMocNumber(String mocNumber) { this.mocNumber = mocNumber; }
+
+    public Boolean getRequiresCapex() { return requiresCapex; }
+    public void setRequiresCapex(Boolean requiresCapex) { this.requiresCapex = requiresCapex; }
+
+    public String getCapexNumber() { return capexNumber; }
+    public void setCapexNumber(String capexNumber) { this.capexNumber = capexNumber; }
+}
@@ -0,0 +1,26 @@
+package com.company.opexhub.dto;
+
+public class StageActionResult {
+    private Long transactionId;
+    private Boolean success;
+    private String message;
+
+    // Constructors
+    public StageActionResult() {}
+
+    public StageActionResult(Long transactionId, Boolean success, String message) {
+        this.transactionId = transactionId;
+        this.success = success;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public Long getTransactionId() { return transactionId; }
+    public void setTransactionId(Long transactionId) { this.transactionId = transactionId; }
+
+    public Boolean getSuccess() { return success; }
+    public void setSuccess(Boolean success) { this.success = success; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
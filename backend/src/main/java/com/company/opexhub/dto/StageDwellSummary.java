@@ -0,0 +1,48 @@
+package com.company.opexhub.dto;
+
+public class StageDwellSummary {
+    private String site;
+    private Integer stageNumber;
+    private String stageName;
+    private Long count;
+    private Long averageSeconds;
+    private Long maxSeconds;
+    private Long p50Seconds;
+    private Long p90Seconds;
+    private Long p99Seconds;
+    private Long slaBreachCount;
+
+    // Constructors
+    public StageDwellSummary() {}
+
+    // Getters and Setters
+    public String getSite() { return site; }
+    public void setSite(String site) { this.site = site; }
+
+    public Integer getStageNumber() { return stageNumber; }
+    public void setStageNumber(Integer stageNumber) { this.stageNumber = stageNumber; }
+
+    public String getStageName() { return stageName; }
+    public void setStageName(String stageName) { this.stageName = stageName; }
+
+    public Long getCount() { return count; }
+    public void setCount(Long count) { this.count = count; }
+
+    public Long getAverageSeconds() { return averageSeconds; }
+    public void setAverageSeconds(Long averageSeconds) { this.averageSeconds = averageSeconds; }
+
+    public Long getMaxSeconds() { return maxSeconds; }
+    public void setMaxSeconds(Long maxSeconds) { this.maxSeconds = maxSeconds; }
+
+    public Long getP50Seconds() { return p50Seconds; }
+    public void setP50Seconds(Long p50Seconds) { this.p50Seconds = p50Seconds; }
+
+    public Long getP90Seconds() { return p90Seconds; }
+    public void setP90Seconds(Long p90Seconds) { this.p90Seconds = p90Seconds; }
+
+    public Long getP99Seconds() { return p99Seconds; }
+    public void setP99Seconds(Long p99Seconds) { this.p99Seconds = p99Seconds; }
+
+    public Long getSlaBreachCount() { return slaBreachCount; }
+    public void setSlaBreachCount(Long slaBreachCount) { this.slaBreachCount = slaBreachCount; }
+}
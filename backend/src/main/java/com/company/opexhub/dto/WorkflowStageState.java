@@ -0,0 +1,50 @@
+package com.company.opexhub.dto;
+
+import java.time.LocalDateTime;
+
+public class WorkflowStageState {
+    private Integer stageNumber;
+    private String stageName;
+    private String approveStatus;
+    private String pendingWith;
+    private Long assignedUserId;
+    private String actionBy;
+    private String comment;
+    private LocalDateTime actionDate;
+    private Long lastSequenceNumber;
+
+    // Constructors
+    public WorkflowStageState() {}
+
+    public WorkflowStageState(Integer stageNumber) {
+        this.stageNumber = stageNumber;
+    }
+
+    // Getters and Setters
+    public Integer getStageNumber() { return stageNumber; }
+    public void setStageNumber(Integer stageNumber) { this.stageNumber = stageNumber; }
+
+    public String getStageName() { return stageName; }
+    public void setStageName(String stageName) { this.stageName = stageName; }
+
+    public String getApproveStatus() { return approveStatus; }
+    public void setApproveStatus(String approveStatus) { this.approveStatus = approveStatus; }
+
+    public String getPendingWith() { return pendingWith; }
+    public void setPendingWith(String pendingWith) { this.pendingWith = pendingWith; }
+
+    public Long getAssignedUserId() { return assignedUserId; }
+    public void setAssignedUserId(Long assignedUserId) { this.assignedUserId = assignedUserId; }
+
+    public String getActionBy() { return actionBy; }
+    public void setActionBy(String actionBy) { this.actionBy = actionBy; }
+
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+
+    public LocalDateTime getActionDate() { return actionDate; }
+    public void setActionDate(LocalDateTime actionDate) { this.actionDate = actionDate; }
+
+    public Long getLastSequenceNumber() { return lastSequenceNumber; }
+    public void setLastSequenceNumber(Long lastSequenceNumber) { this.lastSequenceNumber = lastSequenceNumber; }
+}
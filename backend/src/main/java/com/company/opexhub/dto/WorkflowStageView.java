@@ -1,80 +1,58 @@
-package com.company.opexhub.entity;
+package com.company.opexhub.dto;
+
+import com.company.opexhub.entity.WorkflowTransaction;
 
-import javax.persistence.*;
-import javax.validation.constraints.NotBlank;
-import javax.validation.constraints.Size;
-import com.fasterxml.jackson.annotation.JsonBackReference;
 import java.time.LocalDateTime;
 
-@Entity
-@Table(name = "workflow_stages")
-public class WorkflowStage {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+/**
+ * The legacy /api/workflow stage shape, read from workflow_transactions. Stages the workflow
+ * has not reached yet have no row and are reported as not_started with a null id.
+ */
+public class WorkflowStageView {
     private Long id;
-
-    @Column(name = "stage_number")
+    private Long initiativeId;
     private Integer stageNumber;
-
-    @NotBlank
-    @Size(max = 100)
     private String stageName;
-
-    @NotBlank
-    @Size(max = 50)
-    private String status; // pending, approved, rejected
-
-    @Size(max = 20)
+    private String status; // pending, approved, rejected, not_started
     private String requiredRole;
-
-    @Column(name = "approved_by")
     private String approvedBy;
-
-    @Column(name = "approved_at")
     private LocalDateTime approvedAt;
-
-    @Column(columnDefinition = "TEXT")
     private String comments;
-
-    @Column(name = "created_at")
     private LocalDateTime createdAt;
-
-    @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "initiative_id", nullable = false)
-    @JsonBackReference("initiative-workflowStages")
-    private Initiative initiative;
-
     // Constructors
-    public WorkflowStage() {}
+    public WorkflowStageView() {}
 
-    public WorkflowStage(Integer stageNumber, String stageName, String requiredRole, Initiative initiative) {
+    public WorkflowStageView(Long initiativeId, Integer stageNumber, String stageName, String requiredRole) {
+        this.initiativeId = initiativeId;
         this.stageNumber = stageNumber;
         this.stageName = stageName;
-        this.status = "pending";
+        this.status = "not_started";
         this.requiredRole = requiredRole;
-        this.initiative = initiative;
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
     }
 
-    @PrePersist
-    protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
-    }
-
-    @PreUpdate
-    protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+    public WorkflowStageView(WorkflowTransaction transaction) {
+        this.id = transaction.getId();
+        this.initiativeId = transaction.getInitiativeId();
+        this.stageNumber = transaction.getStageNumber();
+        this.stageName = transaction.getStageName();
+        this.status = transaction.getApproveStatus();
+        this.requiredRole = transaction.getRequiredRole();
+        this.approvedBy = transaction.getActionBy();
+        this.approvedAt = transaction.getActionDate();
+        this.comments = transaction.getComment();
+        this.createdAt = transaction.getCreatedAt();
+        this.updatedAt = transaction.getUpdatedAt();
     }
 
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public Long getInitiativeId() { return initiativeId; }
+    public void setInitiativeId(Long initiativeId) { this.initiativeId = initiativeId; }
+
     public Integer getStageNumber() { return stageNumber; }
     public void setStageNumber(Integer stageNumber) { this.stageNumber = stageNumber; }
 
@@ -101,7 +79,4 @@ public class WorkflowStage {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
-
-    public Initiative getInitiative() { return initiative; }
-    public void setInitiative(Initiative initiative) { this.initiative = initiative; }
-}
\ No newline at end of file
+}
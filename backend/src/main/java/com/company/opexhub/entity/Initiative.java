@@ -1,10 +1,15 @@
 package com.company.opexhub.entity;
 
+import com.company.opexhub.service.ChangeCounterListener;
+import com.company.opexhub.service.InitiativeKpiChangeListener;
+import com.company.opexhub.service.InitiativeSearchIndexListener;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -12,12 +17,32 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "initiatives")
+@Table(name = "initiatives",
+       indexes = {
+           @Index(name = "idx_initiative_created_at_id", columnList = "created_at DESC, id DESC"),
+           // Equality filters lead, range filters (dates, savings) follow; see InitiativeRepositoryImpl
+           @Index(name = "idx_initiative_site_status_stage", columnList = "site, status, current_stage"),
+           @Index(name = "idx_initiative_status_stage", columnList = "status, current_stage"),
+           @Index(name = "idx_initiative_site_discipline_priority", columnList = "site, discipline, priority"),
+           @Index(name = "idx_initiative_discipline_priority", columnList = "discipline, priority"),
+           @Index(name = "idx_initiative_priority_savings", columnList = "priority, expected_savings"),
+           @Index(name = "idx_initiative_start_date", columnList = "start_date"),
+           @Index(name = "idx_initiative_end_date", columnList = "end_date"),
+           @Index(name = "idx_initiative_expected_savings", columnList = "expected_savings")
+       })
+@EntityListeners({InitiativeSearchIndexListener.class, InitiativeKpiChangeListener.class,
+                  ChangeCounterListener.class})
 public class Initiative {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "initiatives_seq")
+    @SequenceGenerator(name = "initiatives_seq", sequenceName = "initiatives_seq", allocationSize = 50)
     private Long id;
 
+    // Optimistic lock; also the ETag of this row
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     @NotBlank
     @Size(max = 200)
     private String title;
@@ -59,6 +84,17 @@ public class Initiative {
     @Column(name = "current_stage")
     private Integer currentStage = 1;
 
+    // Maintained with every workflow transition so progress never needs a COUNT over workflow_transactions
+    @Column(name = "approved_stage_count")
+    private Integer approvedStageCount = 0;
+
+    @Column(name = "total_stage_count")
+    private Integer totalStageCount = 0;
+
+    // Sequence number of the last entry in workflow_events for this initiative
+    @Column(name = "workflow_event_count")
+    private Long workflowEventCount = 0L;
+
     @Column(name = "requires_moc")
     private Boolean requiresMoc = false;
 
@@ -90,10 +126,6 @@ public class Initiative {
     @JsonManagedReference("initiative-comments")
     private Set<Comment> comments = new HashSet<>();
 
-    @OneToMany(mappedBy = "initiative", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    @JsonManagedReference("initiative-workflowStages")
-    private Set<WorkflowStage> workflowStages = new HashSet<>();
-
     // Constructors
     public Initiative() {}
 
@@ -124,10 +156,36 @@ public class Initiative {
         updatedAt = LocalDateTime.now();
     }
 
+    public void recordStagesCreated(int count) {
+        totalStageCount = (totalStageCount != null ? totalStageCount : 0) + count;
+        updateProgressPercentage();
+    }
+
+    public void recordStageApproved() {
+        approvedStageCount = (approvedStageCount != null ? approvedStageCount : 0) + 1;
+        updateProgressPercentage();
+    }
+
+    public long nextWorkflowEventSequence() {
+        workflowEventCount = (workflowEventCount != null ? workflowEventCount : 0L) + 1;
+        return workflowEventCount;
+    }
+
+    private void updateProgressPercentage() {
+        if (totalStageCount == null || totalStageCount == 0 || approvedStageCount == null) {
+            progressPercentage = 0;
+        } else {
+            progressPercentage = (approvedStageCount * 100) / totalStageCount;
+        }
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
 
@@ -164,6 +222,15 @@ public class Initiative {
     public Integer getCurrentStage() { return currentStage; }
     public void setCurrentStage(Integer currentStage) { this.currentStage = currentStage; }
 
+    public Integer getApprovedStageCount() { return approvedStageCount; }
+    public void setApprovedStageCount(Integer approvedStageCount) { this.approvedStageCount = approvedStageCount; }
+
+    public Integer getTotalStageCount() { return totalStageCount; }
+    public void setTotalStageCount(Integer totalStageCount) { this.totalStageCount = totalStageCount; }
+
+    public Long getWorkflowEventCount() { return workflowEventCount; }
+    public void setWorkflowEventCount(Long workflowEventCount) { this.workflowEventCount = workflowEventCount; }
+
     public Boolean getRequiresMoc() { return requiresMoc; }
     public void setRequiresMoc(Boolean requiresMoc) { this.requiresMoc = requiresMoc; }
 
@@ -191,6 +258,4 @@ public class Initiative {
     public Set<Comment> getComments() { return comments; }
     public void setComments(Set<Comment> comments) { this.comments = comments; }
 
-    public Set<WorkflowStage> getWorkflowStages() { return workflowStages; }
-    public void setWorkflowStages(Set<WorkflowStage> workflowStages) { this.workflowStages = workflowStages; }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.company.opexhub.entity;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Running count and savings totals for one (site, discipline, status, priority, start month)
+ * bucket of initiatives, maintained by KpiRollupService as initiatives change so KPI reads never
+ * have to aggregate the initiatives table.
+ */
+@Entity
+@Table(name = "kpi_rollups",
+       uniqueConstraints = {
+           @UniqueConstraint(columnNames = {"site", "discipline", "status", "priority", "start_month"})
+       },
+       indexes = {
+           @Index(name = "idx_kpi_rollup_start_month", columnList = "start_month")
+       })
+public class KpiRollup {
+    // Start month of the bucket for initiatives without a start date. A real value rather than
+    // NULL, because NULLs never collide in a unique key and undated buckets could be duplicated
+    public static final LocalDate UNDATED = LocalDate.of(1900, 1, 1);
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "kpi_rollups_seq")
+    @SequenceGenerator(name = "kpi_rollups_seq", sequenceName = "kpi_rollups_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    private String site;
+
+    @NotNull
+    private String discipline;
+
+    @NotNull
+    private String status;
+
+    @NotNull
+    private String priority;
+
+    // First day of the initiatives' start month; UNDATED for initiatives without a start date
+    @NotNull
+    @Column(name = "start_month", nullable = false)
+    private LocalDate startMonth;
+
+    @Column(name = "initiative_count")
+    private Long initiativeCount = 0L;
+
+    @Column(name = "expected_savings", precision = 17, scale = 2)
+    private BigDecimal expectedSavings = BigDecimal.ZERO;
+
+    @Column(name = "actual_savings", precision = 17, scale = 2)
+    private BigDecimal actualSavings = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public KpiRollup() {}
+
+    public KpiRollup(String site, String discipline, String status, String priority, LocalDate startMonth) {
+        this.site = site;
+        this.discipline = discipline;
+        this.status = status;
+        this.priority = priority;
+        this.startMonth = startMonth;
+    }
+
+    public void add(long count, BigDecimal expected, BigDecimal actual) {
+        initiativeCount += count;
+        expectedSavings = expectedSavings.add(expected);
+        actualSavings = actualSavings.add(actual);
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getSite() { return site; }
+    public void setSite(String site) { this.site = site; }
+
+    public String getDiscipline() { return discipline; }
+    public void setDiscipline(String discipline) { this.discipline = discipline; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getPriority() { return priority; }
+    public void setPriority(String priority) { this.priority = priority; }
+
+    public LocalDate getStartMonth() { return startMonth; }
+    public void setStartMonth(LocalDate startMonth) { this.startMonth = startMonth; }
+
+    public Long getInitiativeCount() { return initiativeCount; }
+    public void setInitiativeCount(Long initiativeCount) { this.initiativeCount = initiativeCount; }
+
+    public BigDecimal getExpectedSavings() { return expectedSavings; }
+    public void setExpectedSavings(BigDecimal expectedSavings) { this.expectedSavings = expectedSavings; }
+
+    public BigDecimal getActualSavings() { return actualSavings; }
+    public void setActualSavings(BigDecimal actualSavings) { this.actualSavings = actualSavings; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -1,6 +1,9 @@
 package com.company.opexhub.entity;
 
+import com.company.opexhub.service.ChangeCounterListener;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import javax.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -8,11 +11,18 @@ import java.time.YearMonth;
 
 @Entity
 @Table(name = "monthly_monitoring_entries")
+@EntityListeners(ChangeCounterListener.class)
 public class MonthlyMonitoringEntry {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "monthly_monitoring_entries_seq")
+    @SequenceGenerator(name = "monthly_monitoring_entries_seq", sequenceName = "monthly_monitoring_entries_seq", allocationSize = 50)
     private Long id;
+
+    // Optimistic lock; also the ETag of this row
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "initiative_id", nullable = false)
@@ -89,6 +99,9 @@ public class MonthlyMonitoringEntry {
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
     
     public Initiative getInitiative() { return initiative; }
     public void setInitiative(Initiative initiative) { this.initiative = initiative; }
@@ -0,0 +1,120 @@
+package com.company.opexhub.entity;
+
+import com.company.opexhub.service.DwellTimeSketch;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * Running dwell-time aggregate for one site and stage, updated as each stage is actioned so
+ * analytics never have to scan workflow_transactions.
+ */
+@Entity
+@Table(name = "stage_dwell_stats",
+       uniqueConstraints = {
+           @UniqueConstraint(columnNames = {"site", "stage_number"})
+       })
+public class StageDwellStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stage_dwell_stats_seq")
+    @SequenceGenerator(name = "stage_dwell_stats_seq", sequenceName = "stage_dwell_stats_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    private String site;
+
+    @NotNull
+    @Column(name = "stage_number")
+    private Integer stageNumber;
+
+    @Column(name = "stage_name")
+    private String stageName;
+
+    @Column(name = "sample_count")
+    private Long sampleCount = 0L;
+
+    @Column(name = "total_seconds")
+    private Long totalSeconds = 0L;
+
+    @Column(name = "max_seconds")
+    private Long maxSeconds = 0L;
+
+    @Column(name = "sla_breach_count")
+    private Long slaBreachCount = 0L;
+
+    @Column(columnDefinition = "TEXT")
+    private String sketch;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Decoded once per persistence context and written back on flush
+    @Transient
+    private DwellTimeSketch decodedSketch;
+
+    // Constructors
+    public StageDwellStats() {}
+
+    public StageDwellStats(String site, Integer stageNumber, String stageName) {
+        this.site = site;
+        this.stageNumber = stageNumber;
+        this.stageName = stageName;
+    }
+
+    public void record(long dwellSeconds, long slaSeconds) {
+        sampleCount++;
+        totalSeconds += dwellSeconds;
+        maxSeconds = Math.max(maxSeconds, dwellSeconds);
+        if (dwellSeconds > slaSeconds) {
+            slaBreachCount++;
+        }
+        getDecodedSketch().add(dwellSeconds);
+        // Keeps the row dirty so the sketch is re-encoded on flush
+        sketch = decodedSketch.encode();
+    }
+
+    public DwellTimeSketch getDecodedSketch() {
+        if (decodedSketch == null) {
+            decodedSketch = DwellTimeSketch.decode(sketch);
+        }
+        return decodedSketch;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getSite() { return site; }
+    public void setSite(String site) { this.site = site; }
+
+    public Integer getStageNumber() { return stageNumber; }
+    public void setStageNumber(Integer stageNumber) { this.stageNumber = stageNumber; }
+
+    public String getStageName() { return stageName; }
+    public void setStageName(String stageName) { this.stageName = stageName; }
+
+    public Long getSampleCount() { return sampleCount; }
+    public void setSampleCount(Long sampleCount) { this.sampleCount = sampleCount; }
+
+    public Long getTotalSeconds() { return totalSeconds; }
+    public void setTotalSeconds(Long totalSeconds) { this.totalSeconds = totalSeconds; }
+
+    public Long getMaxSeconds() { return maxSeconds; }
+    public void setMaxSeconds(Long maxSeconds) { this.maxSeconds = maxSeconds; }
+
+    public Long getSlaBreachCount() { return slaBreachCount; }
+    public void setSlaBreachCount(Long slaBreachCount) { this.slaBreachCount = slaBreachCount; }
+
+    public String getSketch() { return sketch; }
+    public void setSketch(String sketch) { this.sketch = sketch; this.decodedSketch = null; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
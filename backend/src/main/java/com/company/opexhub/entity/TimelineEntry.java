@@ -1,17 +1,27 @@
 package com.company.opexhub.entity;
 
+import com.company.opexhub.service.ChangeCounterListener;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import javax.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "timeline_entries")
+@EntityListeners(ChangeCounterListener.class)
 public class TimelineEntry {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "timeline_entries_seq")
+    @SequenceGenerator(name = "timeline_entries_seq", sequenceName = "timeline_entries_seq", allocationSize = 50)
     private Long id;
+
+    // Optimistic lock; also the ETag of this row
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "initiative_id", nullable = false)
@@ -99,6 +109,9 @@ public class TimelineEntry {
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
     
     public Initiative getInitiative() { return initiative; }
     public void setInitiative(Initiative initiative) { this.initiative = initiative; }
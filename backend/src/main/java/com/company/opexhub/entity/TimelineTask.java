@@ -1,19 +1,29 @@
 package com.company.opexhub.entity;
 
+import com.company.opexhub.service.ChangeCounterListener;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "timeline_tasks")
+@EntityListeners(ChangeCounterListener.class)
 public class TimelineTask {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "timeline_tasks_seq")
+    @SequenceGenerator(name = "timeline_tasks_seq", sequenceName = "timeline_tasks_seq", allocationSize = 50)
     private Long id;
 
+    // Optimistic lock; also the ETag of this row
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     @NotBlank
     @Size(max = 200)
     private String title;
@@ -92,6 +102,9 @@ public class TimelineTask {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
 
@@ -1,12 +1,16 @@
 package com.company.opexhub.entity;
 
+import com.company.opexhub.service.WfMasterChangeListener;
+
 import javax.persistence.*;
 
 @Entity
 @Table(name = "wf_master")
+@EntityListeners(WfMasterChangeListener.class)
 public class WfMaster {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "wf_master_seq")
+    @SequenceGenerator(name = "wf_master_seq", sequenceName = "wf_master_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "stage_number", nullable = false)
@@ -21,7 +25,8 @@ public class WfMaster {
     @Column(name = "site", nullable = false)
     private String site;
 
-    @Column(name = "user_email", nullable = false)
+    // Null for stages whose user is assigned during the workflow (e.g. the Initiative Lead stages)
+    @Column(name = "user_email")
     private String userEmail;
 
     @Column(name = "is_active", nullable = false)
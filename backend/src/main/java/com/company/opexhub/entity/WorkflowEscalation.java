@@ -0,0 +1,85 @@
+package com.company.opexhub.entity;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "workflow_escalations",
+       indexes = {
+           @Index(name = "idx_wesc_site_escalated_at", columnList = "site, escalated_at")
+       })
+public class WorkflowEscalation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workflow_escalations_seq")
+    @SequenceGenerator(name = "workflow_escalations_seq", sequenceName = "workflow_escalations_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @NotNull
+    @Column(name = "initiative_id")
+    private Long initiativeId;
+
+    @NotNull
+    private String site;
+
+    @NotNull
+    @Column(name = "stage_number")
+    private Integer stageNumber;
+
+    @Column(name = "pending_with")
+    private String pendingWith;
+
+    @Column(name = "rerouted_to")
+    private String reroutedTo;
+
+    @Column(name = "pending_since")
+    private LocalDateTime pendingSince;
+
+    @Column(name = "escalated_at")
+    private LocalDateTime escalatedAt;
+
+    // Constructors
+    public WorkflowEscalation() {}
+
+    public WorkflowEscalation(WorkflowTransaction transaction) {
+        this.transactionId = transaction.getId();
+        this.initiativeId = transaction.getInitiativeId();
+        this.site = transaction.getSite();
+        this.stageNumber = transaction.getStageNumber();
+        this.pendingWith = transaction.getPendingWith();
+        this.pendingSince = transaction.getPendingSince();
+        this.escalatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getTransactionId() { return transactionId; }
+    public void setTransactionId(Long transactionId) { this.transactionId = transactionId; }
+
+    public Long getInitiativeId() { return initiativeId; }
+    public void setInitiativeId(Long initiativeId) { this.initiativeId = initiativeId; }
+
+    public String getSite() { return site; }
+    public void setSite(String site) { this.site = site; }
+
+    public Integer getStageNumber() { return stageNumber; }
+    public void setStageNumber(Integer stageNumber) { this.stageNumber = stageNumber; }
+
+    public String getPendingWith() { return pendingWith; }
+    public void setPendingWith(String pendingWith) { this.pendingWith = pendingWith; }
+
+    public String getReroutedTo() { return reroutedTo; }
+    public void setReroutedTo(String reroutedTo) { this.reroutedTo = reroutedTo; }
+
+    public LocalDateTime getPendingSince() { return pendingSince; }
+    public void setPendingSince(LocalDateTime pendingSince) { this.pendingSince = pendingSince; }
+
+    public LocalDateTime getEscalatedAt() { return escalatedAt; }
+    public void setEscalatedAt(LocalDateTime escalatedAt) { this.escalatedAt = escalatedAt; }
+}
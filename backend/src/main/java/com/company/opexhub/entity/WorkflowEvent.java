@@ -0,0 +1,135 @@
+package com.company.opexhub.entity;
+
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of a workflow stage change. Rows are never updated; an initiative's
+ * history is its events in sequence order (see WorkflowEventService).
+ */
+@Entity
+@Immutable
+@Table(name = "workflow_events",
+       uniqueConstraints = {
+           // Also the access path for history replay: one range scan per initiative
+           @UniqueConstraint(name = "uk_we_initiative_sequence", columnNames = {"initiative_id", "sequence_number"})
+       })
+public class WorkflowEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workflow_events_seq")
+    @SequenceGenerator(name = "workflow_events_seq", sequenceName = "workflow_events_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "initiative_id")
+    private Long initiativeId;
+
+    @NotNull
+    @Column(name = "sequence_number")
+    private Long sequenceNumber;
+
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @NotNull
+    @Column(name = "stage_number")
+    private Integer stageNumber;
+
+    @Column(name = "stage_name")
+    private String stageName;
+
+    @NotNull
+    @Column(name = "event_type")
+    private String eventType; // created, activated, approved, rejected
+
+    @Column(name = "approve_status")
+    private String approveStatus;
+
+    @Column(name = "pending_with")
+    private String pendingWith;
+
+    @Column(name = "assigned_user_id")
+    private Long assignedUserId;
+
+    @Column(name = "action_by")
+    private String actionBy;
+
+    @Column(columnDefinition = "TEXT")
+    private String comment;
+
+    // When the approver acted, copied from the stage; created_at is when the event was recorded
+    @Column(name = "action_date")
+    private LocalDateTime actionDate;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public WorkflowEvent() {}
+
+    public WorkflowEvent(String eventType, WorkflowTransaction transaction) {
+        this.eventType = eventType;
+        this.initiativeId = transaction.getInitiativeId();
+        this.transactionId = transaction.getId();
+        this.stageNumber = transaction.getStageNumber();
+        this.stageName = transaction.getStageName();
+        this.approveStatus = transaction.getApproveStatus();
+        this.pendingWith = transaction.getPendingWith();
+        this.assignedUserId = transaction.getAssignedUserId();
+        this.actionBy = transaction.getActionBy();
+        this.comment = transaction.getComment();
+        this.actionDate = transaction.getActionDate();
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getInitiativeId() { return initiativeId; }
+    public void setInitiativeId(Long initiativeId) { this.initiativeId = initiativeId; }
+
+    public Long getSequenceNumber() { return sequenceNumber; }
+    public void setSequenceNumber(Long sequenceNumber) { this.sequenceNumber = sequenceNumber; }
+
+    public Long getTransactionId() { return transactionId; }
+    public void setTransactionId(Long transactionId) { this.transactionId = transactionId; }
+
+    public Integer getStageNumber() { return stageNumber; }
+    public void setStageNumber(Integer stageNumber) { this.stageNumber = stageNumber; }
+
+    public String getStageName() { return stageName; }
+    public void setStageName(String stageName) { this.stageName = stageName; }
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public String getApproveStatus() { return approveStatus; }
+    public void setApproveStatus(String approveStatus) { this.approveStatus = approveStatus; }
+
+    public String getPendingWith() { return pendingWith; }
+    public void setPendingWith(String pendingWith) { this.pendingWith = pendingWith; }
+
+    public Long getAssignedUserId() { return assignedUserId; }
+    public void setAssignedUserId(Long assignedUserId) { this.assignedUserId = assignedUserId; }
+
+    public String getActionBy() { return actionBy; }
+    public void setActionBy(String actionBy) { this.actionBy = actionBy; }
+
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+
+    public LocalDateTime getActionDate() { return actionDate; }
+    public void setActionDate(LocalDateTime actionDate) { this.actionDate = actionDate; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,126 @@
+package com.company.opexhub.entity;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * Side effects of a stage action, written in the approver's transaction and applied later by
+ * WorkflowOutboxDispatcher. Rows are deleted once applied; a row that fails is retried with
+ * exponential backoff until it applies, and is listed by /api/workflow-analytics/outbox meanwhile.
+ */
+@Entity
+@Table(name = "workflow_outbox",
+       indexes = {
+           @Index(name = "idx_wo_status_id", columnList = "status, id"),
+           @Index(name = "idx_wo_status_next_attempt", columnList = "status, next_attempt_at")
+       })
+public class WorkflowOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workflow_outbox_seq")
+    @SequenceGenerator(name = "workflow_outbox_seq", sequenceName = "workflow_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @NotNull
+    @Column(name = "initiative_id")
+    private Long initiativeId;
+
+    @NotNull
+    private String action; // approved, rejected
+
+    @Column(name = "assigned_user_id")
+    private Long assignedUserId;
+
+    @Column(name = "requires_moc")
+    private Boolean requiresMoc;
+
+    @Column(name = "moc_number")
+    private String mocNumber;
+
+    @Column(name = "requires_capex")
+    private Boolean requiresCapex;
+
+    @Column(name = "capex_number")
+    private String capexNumber;
+
+    @NotNull
+    private String status = "pending"; // pending until applied, then deleted
+
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    // Not picked up again before this time after a failure
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public WorkflowOutboxEvent() {}
+
+    public WorkflowOutboxEvent(Long transactionId, Long initiativeId, String action, Long assignedUserId) {
+        this.transactionId = transactionId;
+        this.initiativeId = initiativeId;
+        this.action = action;
+        this.assignedUserId = assignedUserId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getTransactionId() { return transactionId; }
+    public void setTransactionId(Long transactionId) { this.transactionId = transactionId; }
+
+    public Long getInitiativeId() { return initiativeId; }
+    public void setInitiativeId(Long initiativeId) { this.initiativeId = initiativeId; }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public Long getAssignedUserId() { return assignedUserId; }
+    public void setAssignedUserId(Long assignedUserId) { this.assignedUserId = assignedUserId; }
+
+    public Boolean getRequiresMoc() { return requiresMoc; }
+    public void setRequiresMoc(Boolean requiresMoc) { this.requiresMoc = requiresMoc; }
+
+    public String getMocNumber() { return mocNumber; }
+    public void setMocNumber(String mocNumber) { this.mocNumber = mocNumber; }
+
+    public Boolean getRequiresCapex() { return requiresCapex; }
+    public void setRequiresCapex(Boolean requiresCapex) { this.requiresCapex = requiresCapex; }
+
+    public String getCapexNumber() { return capexNumber; }
+    public void setCapexNumber(String capexNumber) { this.capexNumber = capexNumber; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
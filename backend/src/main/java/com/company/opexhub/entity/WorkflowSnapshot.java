@@ -0,0 +1,71 @@
+package com.company.opexhub.entity;
+
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * Folded stage state of one initiative as of a given event sequence number, so replay only
+ * has to read the events written after it.
+ */
+@Entity
+@Immutable
+@Table(name = "workflow_snapshots",
+       indexes = {
+           @Index(name = "idx_ws_initiative_sequence", columnList = "initiative_id, sequence_number")
+       })
+public class WorkflowSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workflow_snapshots_seq")
+    @SequenceGenerator(name = "workflow_snapshots_seq", sequenceName = "workflow_snapshots_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "initiative_id")
+    private Long initiativeId;
+
+    @NotNull
+    @Column(name = "sequence_number")
+    private Long sequenceNumber;
+
+    // JSON array of WorkflowStageState
+    @NotNull
+    @Column(columnDefinition = "TEXT")
+    private String state;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public WorkflowSnapshot() {}
+
+    public WorkflowSnapshot(Long initiativeId, Long sequenceNumber, String state) {
+        this.initiativeId = initiativeId;
+        this.sequenceNumber = sequenceNumber;
+        this.state = state;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getInitiativeId() { return initiativeId; }
+    public void setInitiativeId(Long initiativeId) { this.initiativeId = initiativeId; }
+
+    public Long getSequenceNumber() { return sequenceNumber; }
+    public void setSequenceNumber(Long sequenceNumber) { this.sequenceNumber = sequenceNumber; }
+
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -5,10 +5,19 @@ import javax.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "workflow_transactions")
+@Table(name = "workflow_transactions",
+       uniqueConstraints = {
+           @UniqueConstraint(columnNames = {"initiative_id", "stage_number"})
+       },
+       indexes = {
+           // Approver inbox access paths (see WorkflowTransactionRepository.findPendingTransactionsBy*)
+           @Index(name = "idx_wt_status_pending_with", columnList = "approve_status, pending_with, created_at"),
+           @Index(name = "idx_wt_status_site_pending_with", columnList = "approve_status, site, pending_with, created_at")
+       })
 public class WorkflowTransaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workflow_transactions_seq")
+    @SequenceGenerator(name = "workflow_transactions_seq", sequenceName = "workflow_transactions_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -48,6 +57,10 @@ public class WorkflowTransaction {
     @Column(name = "assigned_user_id")
     private Long assignedUserId; // for IL assignment
 
+    // When the stage entered its approver's inbox; dwell time runs from here to actionDate
+    @Column(name = "pending_since")
+    private LocalDateTime pendingSince;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -68,6 +81,7 @@ public class WorkflowTransaction {
         this.approveStatus = "pending";
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
+        this.pendingSince = this.createdAt;
     }
 
     @PrePersist
@@ -109,6 +123,9 @@ public class WorkflowTransaction {
     public LocalDateTime getActionDate() { return actionDate; }
     public void setActionDate(LocalDateTime actionDate) { this.actionDate = actionDate; }
 
+    public LocalDateTime getPendingSince() { return pendingSince; }
+    public void setPendingSince(LocalDateTime pendingSince) { this.pendingSince = pendingSince; }
+
     public String getPendingWith() { return pendingWith; }
     public void setPendingWith(String pendingWith) { this.pendingWith = pendingWith; }
 
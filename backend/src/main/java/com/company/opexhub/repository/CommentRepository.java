@@ -2,10 +2,12 @@ package com.company.opexhub.repository;
 
 import com.company.opexhub.entity.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -23,4 +25,9 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("SELECT c FROM Comment c WHERE c.initiative.id = :initiativeId AND c.stageNumber = :stageNumber")
     List<Comment> findByInitiativeIdAndStageNumber(@Param("initiativeId") Long initiativeId, 
                                                   @Param("stageNumber") Integer stageNumber);
-}
\ No newline at end of file
+
+    // Set-based cleanup for InitiativeDeletionService.deleteInitiatives
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.initiative.id IN :initiativeIds")
+    int deleteByInitiativeIds(@Param("initiativeIds") Collection<Long> initiativeIds);
+}
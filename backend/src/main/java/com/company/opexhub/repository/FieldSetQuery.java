@@ -0,0 +1,161 @@
+package com.company.opexhub.repository;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.SingularAttribute;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Sparse fieldsets for list endpoints: selects only the columns named in a {@code fields=}
+ * parameter and returns each row as a map, so neither the query nor the JSON carries columns the
+ * client did not ask for. The id is always included.
+ */
+@Repository
+public class FieldSetQuery {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Basic attributes Jackson would write, per entity
+    private final ConcurrentMap<Class<?>, Set<String>> selectableFields = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    public interface Where<T> {
+        Predicate[] toPredicates(CriteriaBuilder cb, Root<T> root);
+    }
+
+    /**
+     * Parses a comma separated field list. Names are the entity's JSON property names, or keys of
+     * {@code aliases}, which map a JSON name to an attribute path such as "createdBy.fullName".
+     */
+    public List<String> resolve(Class<?> entityClass, String fields, Map<String, String> aliases) {
+        Set<String> selectable = selectableFields.computeIfAbsent(entityClass, this::findSelectableFields);
+        Set<String> resolved = new LinkedHashSet<>();
+        resolved.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!selectable.contains(name) && !aliases.containsKey(name)) {
+                throw new RuntimeException("Unknown field: " + name);
+            }
+            resolved.add(name);
+        }
+        return new ArrayList<>(resolved);
+    }
+
+    // Rows whose attribute path equals value, or every row when the path is null
+    public <T> List<Map<String, Object>> selectEqual(Class<T> entityClass, List<String> fields,
+                                                     Map<String, String> aliases, String attributePath, Object value,
+                                                     Sort sort) {
+        return select(entityClass, fields, aliases, (cb, root) -> attributePath == null ? new Predicate[0]
+                : new Predicate[] { cb.equal(path(root, attributePath), value) }, sort);
+    }
+
+    public <T> List<Map<String, Object>> select(Class<T> entityClass, List<String> fields, Map<String, String> aliases,
+                                                Where<T> where, Sort sort) {
+        return toMaps(createQuery(entityClass, fields, aliases, where, sort), fields);
+    }
+
+    public <T> List<Map<String, Object>> select(Class<T> entityClass, List<String> fields, Map<String, String> aliases,
+                                                Where<T> where, Sort sort, int limit) {
+        return toMaps(createQuery(entityClass, fields, aliases, where, sort).setMaxResults(limit), fields);
+    }
+
+    public <T> Page<Map<String, Object>> select(Class<T> entityClass, List<String> fields, Map<String, String> aliases,
+                                                Where<T> where, Pageable pageable) {
+        TypedQuery<Tuple> query = createQuery(entityClass, fields, aliases, where, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> content = toMaps(query, fields);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(entityClass, where));
+    }
+
+    private <T> TypedQuery<Tuple> createQuery(Class<T> entityClass, List<String> fields, Map<String, String> aliases,
+                                              Where<T> where, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : fields) {
+            selections.add(path(root, aliases.getOrDefault(field, field)).alias(field));
+        }
+        query.multiselect(selections).where(where.toPredicates(cb, root));
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private <T> long count(Class<T> entityClass, Where<T> where) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entityClass);
+        query.select(cb.count(root)).where(where.toPredicates(cb, root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // Dotted paths navigate many-to-one associations, which Hibernate renders as an inner join
+    private static Path<?> path(Root<?> root, String attributePath) {
+        Path<?> path = root;
+        for (String part : attributePath.split("\\.")) {
+            path = path.get(part);
+        }
+        return path;
+    }
+
+    private static List<Map<String, Object>> toMaps(TypedQuery<Tuple> query, List<String> fields) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : query.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private Set<String> findSelectableFields(Class<?> entityClass) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (SingularAttribute<?, ?> attribute : entityManager.getMetamodel().entity(entityClass).getSingularAttributes()) {
+            Member member = attribute.getJavaMember();
+            if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC
+                    && !(member instanceof Field && ((Field) member).isAnnotationPresent(JsonIgnore.class))) {
+                fields.add(attribute.getName());
+            }
+        }
+        return Collections.unmodifiableSet(fields);
+    }
+}
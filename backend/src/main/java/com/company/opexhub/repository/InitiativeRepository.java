@@ -1,18 +1,42 @@
 package com.company.opexhub.repository;
 
+import com.company.opexhub.dto.InitiativeSummary;
 import com.company.opexhub.entity.Initiative;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface InitiativeRepository extends JpaRepository<Initiative, Long> {
+public interface InitiativeRepository extends JpaRepository<Initiative, Long>, InitiativeRepositoryCustom {
+    
+    // Checked against If-None-Match before the row itself is loaded
+    @Query("SELECT i.version FROM Initiative i WHERE i.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+    
+    // Detail view: loads the comments, their authors and the timeline tasks the body serializes, so
+    // Jackson never meets an uninitialized author proxy
+    @EntityGraph(attributePaths = { "comments", "comments.user", "timelineTasks" })
+    @Query("SELECT i FROM Initiative i WHERE i.id = :id")
+    Optional<Initiative> findDetailById(@Param("id") Long id);
+    
+    // List views select only the columns they show; the creator comes from a join, never a lazy load
+    String SUMMARY_SELECT = "SELECT new com.company.opexhub.dto.InitiativeSummary(i.id, i.title, i.status, i.priority, " +
+            "i.expectedSavings, i.actualSavings, i.site, i.discipline, i.startDate, i.endDate, i.progressPercentage, " +
+            "i.currentStage, i.requiresMoc, i.requiresCapex, i.createdAt, i.updatedAt, u.fullName, u.email) " +
+            "FROM Initiative i JOIN i.createdBy u ";
     
     Page<Initiative> findByStatus(String status, Pageable pageable);
     
@@ -22,14 +46,8 @@ public interface InitiativeRepository extends JpaRepository<Initiative, Long> {
     
     Page<Initiative> findByCreatedBy_Id(Long userId, Pageable pageable);
     
-    @Query("SELECT i FROM Initiative i WHERE i.title LIKE %:title%")
-    Page<Initiative> findByTitleContaining(@Param("title") String title, Pageable pageable);
-    
-    @Query("SELECT i FROM Initiative i WHERE i.status = :status AND i.site = :site AND i.title LIKE %:title%")
-    Page<Initiative> findByStatusAndSiteAndTitleContaining(@Param("status") String status, 
-                                                          @Param("site") String site, 
-                                                          @Param("title") String title, 
-                                                          Pageable pageable);
+    @Query(SUMMARY_SELECT + "WHERE i.id IN :ids")
+    List<InitiativeSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
     
     List<Initiative> findByPriority(String priority);
     
@@ -42,4 +60,44 @@ public interface InitiativeRepository extends JpaRepository<Initiative, Long> {
     
     @Query("SELECT i FROM Initiative i WHERE i.currentStage = :stage")
     List<Initiative> findByCurrentStage(@Param("stage") Integer stage);
-}
\ No newline at end of file
+    
+    // Rebuilds the search index on startup without loading whole entities
+    @Query("SELECT i.id, i.title, i.description, i.status, i.site FROM Initiative i")
+    List<Object[]> findSearchDocuments();
+
+    // Full recompute for KPI rollup reconciliation; start dates are folded into months by the caller
+    @Query("SELECT i.site, i.discipline, i.status, i.priority, i.startDate, COUNT(i), " +
+           "SUM(i.expectedSavings), SUM(i.actualSavings) FROM Initiative i " +
+           "GROUP BY i.site, i.discipline, i.status, i.priority, i.startDate")
+    List<Object[]> findKpiRollupSource();
+    
+    @Query("SELECT i.progressPercentage FROM Initiative i WHERE i.id = :id")
+    Integer findProgressPercentageById(@Param("id") Long id);
+    
+    // One-time backfill of the stage counters for rows created before they existed. Bulk updates
+    // skip @Version, so both backfills bump the row version (and with it the ETag) by hand.
+    @Transactional
+    @Modifying
+    @Query("UPDATE Initiative i SET i.version = i.version + 1, " +
+           "i.approvedStageCount = (SELECT COUNT(wt) FROM WorkflowTransaction wt WHERE wt.initiativeId = i.id AND wt.approveStatus = 'approved'), " +
+           "i.totalStageCount = (SELECT COUNT(wt) FROM WorkflowTransaction wt WHERE wt.initiativeId = i.id) " +
+           "WHERE i.approvedStageCount IS NULL OR i.totalStageCount IS NULL")
+    int backfillStageCounts();
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Initiative i SET i.version = i.version + 1, " +
+           "i.progressPercentage = (i.approvedStageCount * 100) / i.totalStageCount " +
+           "WHERE i.totalStageCount > 0 AND (i.progressPercentage IS NULL OR i.progressPercentage <> (i.approvedStageCount * 100) / i.totalStageCount)")
+    int backfillProgressPercentage();
+
+    // Locks the rows being deleted so a concurrent edit cannot change their KPI contribution
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Initiative i WHERE i.id IN :ids")
+    List<Initiative> findAllForDelete(@Param("ids") Collection<Long> ids);
+
+    // Runs last, after the dependent rows are gone; flushes the rollup changes made before it
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Initiative i WHERE i.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,43 @@
+package com.company.opexhub.repository;
+
+import com.company.opexhub.dto.InitiativeExportRow;
+import com.company.opexhub.dto.InitiativeFilter;
+import com.company.opexhub.dto.InitiativeSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface InitiativeRepositoryCustom {
+    
+    Page<InitiativeSummary> findSummaries(InitiativeFilter filter, Pageable pageable);
+    
+    // Keyset pages in (createdAt DESC, id DESC) order; createdAt and id are null for the first page
+    List<InitiativeSummary> findKeysetSummaries(InitiativeFilter filter, LocalDateTime createdAt, Long id, int limit);
+    
+    long countMatching(InitiativeFilter filter);
+    
+    // Sparse fieldsets: validates a fields= parameter, then selects only those columns (plus id)
+    List<String> resolveFields(String fields);
+    
+    Page<Map<String, Object>> findFields(InitiativeFilter filter, List<String> fields, Pageable pageable);
+    
+    List<Map<String, Object>> findFieldsByIdIn(List<String> fields, Collection<Long> ids);
+    
+    List<Map<String, Object>> findKeysetFields(InitiativeFilter filter, LocalDateTime createdAt, Long id,
+                                               List<String> fields, int limit);
+    
+    // The subset of ids that also match the filter
+    Set<Long> findMatchingIds(InitiativeFilter filter, Collection<Long> ids);
+    
+    // One row per (site, status, priority): count, sum of expected savings, sum of actual savings
+    List<Object[]> findKpiGroups(InitiativeFilter filter);
+    
+    // Ordered by id; must be consumed and closed inside a transaction
+    Stream<InitiativeExportRow> streamExportRows(InitiativeFilter filter, int fetchSize);
+}
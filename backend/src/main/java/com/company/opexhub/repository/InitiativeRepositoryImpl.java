@@ -0,0 +1,261 @@
+package com.company.opexhub.repository;
+
+import com.company.opexhub.dto.InitiativeExportRow;
+import com.company.opexhub.dto.InitiativeFilter;
+import com.company.opexhub.dto.InitiativeSummary;
+import com.company.opexhub.entity.Initiative;
+import com.company.opexhub.entity.MonthlyMonitoringEntry;
+import com.company.opexhub.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CompoundSelection;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Criteria-based initiative search: each filter that is set adds one predicate, so any
+ * combination runs as a single server-side query.
+ */
+public class InitiativeRepositoryImpl implements InitiativeRepositoryCustom {
+
+    // Sparse fieldset names that are not Initiative attributes, as in InitiativeSummary
+    private static final Map<String, String> FIELD_ALIASES = new HashMap<>();
+
+    static {
+        FIELD_ALIASES.put("createdByName", "createdBy.fullName");
+        FIELD_ALIASES.put("createdByEmail", "createdBy.email");
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private FieldSetQuery fieldSetQuery;
+
+    @Override
+    public Page<InitiativeSummary> findSummaries(InitiativeFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<InitiativeSummary> query = cb.createQuery(InitiativeSummary.class);
+        Root<Initiative> initiative = query.from(Initiative.class);
+        Join<Initiative, User> createdBy = initiative.join("createdBy");
+
+        query.select(summary(cb, initiative, createdBy))
+                .where(toPredicates(filter, cb, initiative))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), initiative, cb));
+
+        TypedQuery<InitiativeSummary> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<InitiativeSummary> content = typedQuery.getResultList();
+
+        // Skips the count when the page already shows how many rows there are
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(filter));
+    }
+
+    // Keyset pagination in (createdAt DESC, id DESC) order, after the row (createdAt, id) or from the
+    // top when createdAt is null. Callers ask for one row more than they need so the extra row tells
+    // them whether another page follows.
+    @Override
+    public List<InitiativeSummary> findKeysetSummaries(InitiativeFilter filter, LocalDateTime createdAt, Long id,
+                                                       int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<InitiativeSummary> query = cb.createQuery(InitiativeSummary.class);
+        Root<Initiative> initiative = query.from(Initiative.class);
+        Join<Initiative, User> createdBy = initiative.join("createdBy");
+
+        query.select(summary(cb, initiative, createdBy))
+                .where(toKeysetPredicates(filter, createdAt, id, cb, initiative))
+                .orderBy(cb.desc(initiative.get("createdAt")), cb.desc(initiative.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long countMatching(InitiativeFilter filter) {
+        return count(filter);
+    }
+
+    @Override
+    public List<String> resolveFields(String fields) {
+        return fieldSetQuery.resolve(Initiative.class, fields, FIELD_ALIASES);
+    }
+
+    @Override
+    public Page<Map<String, Object>> findFields(InitiativeFilter filter, List<String> fields, Pageable pageable) {
+        return fieldSetQuery.select(Initiative.class, fields, FIELD_ALIASES,
+                (cb, initiative) -> toPredicates(filter, cb, initiative), pageable);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByIdIn(List<String> fields, Collection<Long> ids) {
+        return fieldSetQuery.select(Initiative.class, fields, FIELD_ALIASES,
+                (cb, initiative) -> new Predicate[] { initiative.get("id").in(ids) }, Sort.unsorted());
+    }
+
+    // Same seek as findKeysetSummaries; createdAt must be among the fields
+    @Override
+    public List<Map<String, Object>> findKeysetFields(InitiativeFilter filter, LocalDateTime createdAt, Long id,
+                                                      List<String> fields, int limit) {
+        return fieldSetQuery.select(Initiative.class, fields, FIELD_ALIASES,
+                (cb, initiative) -> toKeysetPredicates(filter, createdAt, id, cb, initiative),
+                Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")), limit);
+    }
+
+    @Override
+    public Set<Long> findMatchingIds(InitiativeFilter filter, Collection<Long> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Initiative> initiative = query.from(Initiative.class);
+
+        Predicate[] predicates = toPredicates(filter, cb, initiative);
+        Predicate[] withIds = new Predicate[predicates.length + 1];
+        System.arraycopy(predicates, 0, withIds, 0, predicates.length);
+        withIds[predicates.length] = initiative.get("id").in(ids);
+
+        query.select(initiative.get("id")).where(withIds);
+        return new HashSet<>(entityManager.createQuery(query).getResultList());
+    }
+
+    @Override
+    public List<Object[]> findKpiGroups(InitiativeFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Initiative> initiative = query.from(Initiative.class);
+
+        query.multiselect(initiative.get("site"), initiative.get("status"), initiative.get("priority"),
+                        cb.count(initiative), cb.sum(initiative.get("expectedSavings")),
+                        cb.sum(initiative.get("actualSavings")))
+                .where(toPredicates(filter, cb, initiative))
+                .groupBy(initiative.get("site"), initiative.get("status"), initiative.get("priority"));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public Stream<InitiativeExportRow> streamExportRows(InitiativeFilter filter, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<InitiativeExportRow> query = cb.createQuery(InitiativeExportRow.class);
+        Root<Initiative> initiative = query.from(Initiative.class);
+        Join<Initiative, User> createdBy = initiative.join("createdBy");
+
+        query.select(cb.construct(InitiativeExportRow.class,
+                initiative.get("id"), initiative.get("title"), initiative.get("status"), initiative.get("priority"),
+                initiative.get("site"), initiative.get("discipline"), initiative.get("startDate"),
+                initiative.get("endDate"), initiative.get("currentStage"), initiative.get("progressPercentage"),
+                initiative.get("expectedSavings"), initiative.get("actualSavings"),
+                monitoringTotal(query, cb, initiative, "targetValue"),
+                monitoringTotal(query, cb, initiative, "achievedValue"),
+                createdBy.get("fullName"), createdBy.get("email"), initiative.get("createdAt")))
+                .where(toPredicates(filter, cb, initiative))
+                .orderBy(cb.asc(initiative.get("id")));
+
+        // Forward-only cursor: rows are fetched from the driver in fetchSize chunks and never
+        // enter the persistence context, so memory stays flat however many rows match
+        return entityManager.createQuery(query)
+                .setHint("org.hibernate.fetchSize", fetchSize)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream();
+    }
+
+    private Subquery<BigDecimal> monitoringTotal(CriteriaQuery<?> query, CriteriaBuilder cb,
+                                                 Root<Initiative> initiative, String attribute) {
+        Subquery<BigDecimal> subquery = query.subquery(BigDecimal.class);
+        Root<MonthlyMonitoringEntry> entry = subquery.from(MonthlyMonitoringEntry.class);
+        return subquery.select(cb.sum(entry.<BigDecimal>get(attribute)))
+                .where(cb.equal(entry.get("initiative"), initiative));
+    }
+
+    private long count(InitiativeFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Initiative> initiative = query.from(Initiative.class);
+        query.select(cb.count(initiative)).where(toPredicates(filter, cb, initiative));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // Same columns as InitiativeRepository.SUMMARY_SELECT
+    private CompoundSelection<InitiativeSummary> summary(CriteriaBuilder cb, Root<Initiative> initiative,
+                                                         Join<Initiative, User> createdBy) {
+        return cb.construct(InitiativeSummary.class,
+                initiative.get("id"), initiative.get("title"), initiative.get("status"), initiative.get("priority"),
+                initiative.get("expectedSavings"), initiative.get("actualSavings"), initiative.get("site"),
+                initiative.get("discipline"), initiative.get("startDate"), initiative.get("endDate"),
+                initiative.get("progressPercentage"), initiative.get("currentStage"), initiative.get("requiresMoc"),
+                initiative.get("requiresCapex"), initiative.get("createdAt"), initiative.get("updatedAt"),
+                createdBy.get("fullName"), createdBy.get("email"));
+    }
+
+    // The filter plus the seek past (createdAt, id). The redundant createdAt <= :createdAt bound is
+    // what lets the database seek on idx_initiative_created_at_id.
+    private Predicate[] toKeysetPredicates(InitiativeFilter filter, LocalDateTime createdAt, Long id,
+                                           CriteriaBuilder cb, Root<Initiative> initiative) {
+        List<Predicate> predicates = new ArrayList<>(Arrays.asList(toPredicates(filter, cb, initiative)));
+        if (createdAt != null) {
+            predicates.add(cb.lessThanOrEqualTo(initiative.get("createdAt"), createdAt));
+            predicates.add(cb.or(cb.lessThan(initiative.get("createdAt"), createdAt),
+                    cb.lessThan(initiative.get("id"), id)));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private Predicate[] toPredicates(InitiativeFilter filter, CriteriaBuilder cb, Root<Initiative> initiative) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(initiative.get("status"), filter.getStatus()));
+        }
+        if (filter.getSite() != null) {
+            predicates.add(cb.equal(initiative.get("site"), filter.getSite()));
+        }
+        if (filter.getDiscipline() != null) {
+            predicates.add(cb.equal(initiative.get("discipline"), filter.getDiscipline()));
+        }
+        if (filter.getPriority() != null) {
+            predicates.add(cb.equal(initiative.get("priority"), filter.getPriority()));
+        }
+        if (filter.getCurrentStage() != null) {
+            predicates.add(cb.equal(initiative.get("currentStage"), filter.getCurrentStage()));
+        }
+        if (filter.getStartDateFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(initiative.get("startDate"), filter.getStartDateFrom()));
+        }
+        if (filter.getStartDateTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(initiative.get("startDate"), filter.getStartDateTo()));
+        }
+        if (filter.getEndDateFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(initiative.get("endDate"), filter.getEndDateFrom()));
+        }
+        if (filter.getEndDateTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(initiative.get("endDate"), filter.getEndDateTo()));
+        }
+        if (filter.getMinSavings() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(initiative.get("expectedSavings"), filter.getMinSavings()));
+        }
+        if (filter.getMaxSavings() != null) {
+            predicates.add(cb.lessThanOrEqualTo(initiative.get("expectedSavings"), filter.getMaxSavings()));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+}
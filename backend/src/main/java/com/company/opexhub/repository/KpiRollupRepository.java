@@ -0,0 +1,36 @@
+package com.company.opexhub.repository;
+
+import com.company.opexhub.entity.KpiRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface KpiRollupRepository extends JpaRepository<KpiRollup, Long> {
+
+    // Row lock so concurrent writers to the same bucket apply their deltas one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<KpiRollup> findBySiteAndDisciplineAndStatusAndPriorityAndStartMonth(
+            String site, String discipline, String status, String priority, LocalDate startMonth);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM KpiRollup r")
+    List<KpiRollup> findAllForUpdate();
+
+    // Undated buckets only count when no month range is given
+    @Query("SELECT r FROM KpiRollup r WHERE (:site IS NULL OR r.site = :site) " +
+           "AND (:discipline IS NULL OR r.discipline = :discipline) " +
+           "AND (:monthFrom IS NULL OR r.startMonth >= :monthFrom) AND (:monthTo IS NULL OR r.startMonth <= :monthTo) " +
+           "AND ((:monthFrom IS NULL AND :monthTo IS NULL) OR r.startMonth <> :undated) " +
+           "AND r.initiativeCount > 0")
+    List<KpiRollup> findInScope(@Param("site") String site, @Param("discipline") String discipline,
+                                @Param("monthFrom") LocalDate monthFrom, @Param("monthTo") LocalDate monthTo,
+                                @Param("undated") LocalDate undated);
+}
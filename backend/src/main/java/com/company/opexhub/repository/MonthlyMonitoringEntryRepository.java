@@ -2,16 +2,23 @@ package com.company.opexhub.repository;
 
 import com.company.opexhub.entity.MonthlyMonitoringEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MonthlyMonitoringEntryRepository extends JpaRepository<MonthlyMonitoringEntry, Long> {
     
+    // Checked against If-None-Match before the row itself is loaded
+    @Query("SELECT m.version FROM MonthlyMonitoringEntry m WHERE m.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+    
     List<MonthlyMonitoringEntry> findByInitiative_IdOrderByMonitoringMonth(Long initiativeId);
     
     List<MonthlyMonitoringEntry> findByInitiative_IdAndMonitoringMonth(Long initiativeId, YearMonth month);
@@ -27,4 +34,9 @@ public interface MonthlyMonitoringEntryRepository extends JpaRepository<MonthlyM
     
     @Query("SELECT m FROM MonthlyMonitoringEntry m WHERE m.enteredBy = :userRole")
     List<MonthlyMonitoringEntry> findByEnteredBy(@Param("userRole") String userRole);
-}
\ No newline at end of file
+
+    // Set-based cleanup for InitiativeDeletionService.deleteInitiatives
+    @Modifying
+    @Query("DELETE FROM MonthlyMonitoringEntry m WHERE m.initiative.id IN :initiativeIds")
+    int deleteByInitiativeIds(@Param("initiativeIds") Collection<Long> initiativeIds);
+}
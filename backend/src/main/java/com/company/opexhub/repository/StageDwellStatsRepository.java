@@ -0,0 +1,18 @@
+package com.company.opexhub.repository;
+
+import com.company.opexhub.entity.StageDwellStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StageDwellStatsRepository extends JpaRepository<StageDwellStats, Long> {
+    
+    Optional<StageDwellStats> findBySiteAndStageNumber(String site, Integer stageNumber);
+    
+    List<StageDwellStats> findBySiteOrderByStageNumber(String site);
+    
+    List<StageDwellStats> findAllByOrderBySiteAscStageNumberAsc();
+}
@@ -2,15 +2,22 @@ package com.company.opexhub.repository;
 
 import com.company.opexhub.entity.TimelineEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, Long> {
     
+    // Checked against If-None-Match before the row itself is loaded
+    @Query("SELECT t.version FROM TimelineEntry t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+    
     List<TimelineEntry> findByInitiative_IdOrderByPlannedStartDate(Long initiativeId);
     
     List<TimelineEntry> findByStatus(TimelineEntry.TimelineStatus status);
@@ -24,4 +31,9 @@ public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, Lo
     @Query("SELECT t FROM TimelineEntry t WHERE t.initiative.id = :initiativeId AND " +
            "(t.siteLeadApproval = false OR t.initiativeLeadApproval = false)")
     List<TimelineEntry> findPendingApprovalsForInitiative(@Param("initiativeId") Long initiativeId);
-}
\ No newline at end of file
+
+    // Set-based cleanup for InitiativeDeletionService.deleteInitiatives
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.initiative.id IN :initiativeIds")
+    int deleteByInitiativeIds(@Param("initiativeIds") Collection<Long> initiativeIds);
+}
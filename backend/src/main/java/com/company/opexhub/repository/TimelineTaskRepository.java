@@ -2,16 +2,23 @@ package com.company.opexhub.repository;
 
 import com.company.opexhub.entity.TimelineTask;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TimelineTaskRepository extends JpaRepository<TimelineTask, Long> {
     
+    // Checked against If-None-Match before the row itself is loaded
+    @Query("SELECT t.version FROM TimelineTask t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+    
     List<TimelineTask> findByInitiative_Id(Long initiativeId);
     
     List<TimelineTask> findByStatus(String status);
@@ -26,4 +33,9 @@ public interface TimelineTaskRepository extends JpaRepository<TimelineTask, Long
     
     @Query("SELECT t FROM TimelineTask t WHERE t.startDate <= :date AND t.endDate >= :date")
     List<TimelineTask> findActiveTasksOnDate(@Param("date") LocalDate date);
-}
\ No newline at end of file
+
+    // Set-based cleanup for InitiativeDeletionService.deleteInitiatives
+    @Modifying
+    @Query("DELETE FROM TimelineTask t WHERE t.initiative.id IN :initiativeIds")
+    int deleteByInitiativeIds(@Param("initiativeIds") Collection<Long> initiativeIds);
+}
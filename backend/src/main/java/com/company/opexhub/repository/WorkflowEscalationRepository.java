@@ -0,0 +1,25 @@
+package com.company.opexhub.repository;
+
+import com.company.opexhub.entity.WorkflowEscalation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WorkflowEscalationRepository extends JpaRepository<WorkflowEscalation, Long> {
+    
+    List<WorkflowEscalation> findBySiteOrderByEscalatedAtDesc(String site, Pageable pageable);
+    
+    List<WorkflowEscalation> findAllByOrderByEscalatedAtDesc(Pageable pageable);
+
+    // Set-based cleanup for InitiativeDeletionService.deleteInitiatives
+    @Modifying
+    @Query("DELETE FROM WorkflowEscalation e WHERE e.initiativeId IN :initiativeIds")
+    int deleteByInitiativeIds(@Param("initiativeIds") Collection<Long> initiativeIds);
+}
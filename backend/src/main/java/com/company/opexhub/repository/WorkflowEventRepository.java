@@ -0,0 +1,25 @@
+package com.company.opexhub.repository;
+
+import com.company.opexhub.entity.WorkflowEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WorkflowEventRepository extends JpaRepository<WorkflowEvent, Long> {
+    
+    // Both are range scans on uk_we_initiative_sequence
+    List<WorkflowEvent> findByInitiativeIdOrderBySequenceNumber(Long initiativeId);
+    
+    List<WorkflowEvent> findByInitiativeIdAndSequenceNumberGreaterThanOrderBySequenceNumber(Long initiativeId, Long sequenceNumber);
+
+    // Set-based cleanup for InitiativeDeletionService.deleteInitiatives
+    @Modifying
+    @Query("DELETE FROM WorkflowEvent e WHERE e.initiativeId IN :initiativeIds")
+    int deleteByInitiativeIds(@Param("initiativeIds") Collection<Long> initiativeIds);
+}
@@ -0,0 +1,42 @@
+package com.company.opexhub.repository;
+
+import com.company.opexhub.entity.WorkflowOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WorkflowOutboxRepository extends JpaRepository<WorkflowOutboxEvent, Long> {
+    
+    // Oldest first, so events of one initiative are applied in the order they were written
+    List<WorkflowOutboxEvent> findByStatusAndNextAttemptAtLessThanEqualOrderById(String status, LocalDateTime now,
+                                                                                 Pageable pageable);
+    
+    // Events that have failed at least once and are still waiting to be applied
+    List<WorkflowOutboxEvent> findByStatusAndAttemptsGreaterThanOrderById(String status, Integer attempts,
+                                                                          Pageable pageable);
+    
+    boolean existsByTransactionId(Long transactionId);
+    
+    @Modifying
+    @Query("UPDATE WorkflowOutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error, " +
+           "e.nextAttemptAt = :nextAttemptAt WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+    
+    @Modifying
+    @Query("UPDATE WorkflowOutboxEvent e SET e.nextAttemptAt = :now WHERE e.id = :id")
+    int retryNow(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Set-based cleanup for InitiativeDeletionService.deleteInitiatives
+    @Modifying
+    @Query("DELETE FROM WorkflowOutboxEvent e WHERE e.initiativeId IN :initiativeIds")
+    int deleteByInitiativeIds(@Param("initiativeIds") Collection<Long> initiativeIds);
+}
@@ -0,0 +1,22 @@
+package com.company.opexhub.repository;
+
+import com.company.opexhub.entity.WorkflowSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface WorkflowSnapshotRepository extends JpaRepository<WorkflowSnapshot, Long> {
+    
+    Optional<WorkflowSnapshot> findFirstByInitiativeIdOrderBySequenceNumberDesc(Long initiativeId);
+
+    // Set-based cleanup for InitiativeDeletionService.deleteInitiatives
+    @Modifying
+    @Query("DELETE FROM WorkflowSnapshot s WHERE s.initiativeId IN :initiativeIds")
+    int deleteByInitiativeIds(@Param("initiativeIds") Collection<Long> initiativeIds);
+}
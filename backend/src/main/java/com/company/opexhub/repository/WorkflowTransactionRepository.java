@@ -1,11 +1,16 @@
 package com.company.opexhub.repository;
 
 import com.company.opexhub.entity.WorkflowTransaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +25,8 @@ public interface WorkflowTransactionRepository extends JpaRepository<WorkflowTra
     
     List<WorkflowTransaction> findBySiteAndPendingWith(String site, String pendingWith);
     
+    List<WorkflowTransaction> findByApproveStatusAndRequiredRole(String approveStatus, String requiredRole);
+    
     @Query("SELECT wt FROM WorkflowTransaction wt WHERE wt.initiativeId = :initiativeId AND wt.stageNumber = :stageNumber")
     Optional<WorkflowTransaction> findByInitiativeIdAndStageNumber(@Param("initiativeId") Long initiativeId, 
                                                                  @Param("stageNumber") Integer stageNumber);
@@ -30,6 +37,15 @@ public interface WorkflowTransactionRepository extends JpaRepository<WorkflowTra
     @Query("SELECT wt FROM WorkflowTransaction wt WHERE wt.approveStatus = 'pending' AND wt.site = :site AND wt.pendingWith = :roleCode")
     List<WorkflowTransaction> findPendingTransactionsBySiteAndRole(@Param("site") String site, @Param("roleCode") String roleCode);
     
+    @Query(value = "SELECT wt FROM WorkflowTransaction wt WHERE wt.approveStatus = 'pending' AND wt.pendingWith = :roleCode",
+           countQuery = "SELECT COUNT(wt) FROM WorkflowTransaction wt WHERE wt.approveStatus = 'pending' AND wt.pendingWith = :roleCode")
+    Page<WorkflowTransaction> findPendingTransactionsByRole(@Param("roleCode") String roleCode, Pageable pageable);
+    
+    @Query(value = "SELECT wt FROM WorkflowTransaction wt WHERE wt.approveStatus = 'pending' AND wt.site = :site AND wt.pendingWith = :roleCode",
+           countQuery = "SELECT COUNT(wt) FROM WorkflowTransaction wt WHERE wt.approveStatus = 'pending' AND wt.site = :site AND wt.pendingWith = :roleCode")
+    Page<WorkflowTransaction> findPendingTransactionsBySiteAndRole(@Param("site") String site, @Param("roleCode") String roleCode,
+                                                                   Pageable pageable);
+    
     @Query(value = "SELECT * FROM workflow_transactions wt WHERE wt.initiative_id = :initiativeId AND wt.approve_status = 'pending' ORDER BY wt.stage_number LIMIT 1", nativeQuery = true)
     Optional<WorkflowTransaction> findCurrentPendingStage(@Param("initiativeId") Long initiativeId);
     
@@ -38,4 +54,54 @@ public interface WorkflowTransactionRepository extends JpaRepository<WorkflowTra
     
     @Query("SELECT COUNT(wt) FROM WorkflowTransaction wt WHERE wt.initiativeId = :initiativeId")
     Integer countTotalStages(@Param("initiativeId") Long initiativeId);
-}
\ No newline at end of file
+    
+    @Query("SELECT wt.pendingWith FROM WorkflowTransaction wt WHERE wt.id = :id")
+    String findPendingWithById(@Param("id") Long id);
+    
+    // Atomic pending -> approved/rejected transition; returns 0 when the stage was already actioned
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WorkflowTransaction wt SET wt.approveStatus = :action, wt.actionBy = :actionBy, " +
+           "wt.actionDate = :actionDate, wt.comment = :comment, wt.pendingWith = NULL, " +
+           "wt.assignedUserId = COALESCE(:assignedUserId, wt.assignedUserId), wt.updatedAt = :actionDate " +
+           "WHERE wt.id = :id AND wt.approveStatus = 'pending'")
+    int completePendingStage(@Param("id") Long id,
+                             @Param("action") String action,
+                             @Param("actionBy") String actionBy,
+                             @Param("comment") String comment,
+                             @Param("assignedUserId") Long assignedUserId,
+                             @Param("actionDate") LocalDateTime actionDate);
+    
+    // not_started -> pending once the previous stage of a branch is approved. Stages assigned at runtime
+    // have no configured user and are routed to the user assigned to the row.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WorkflowTransaction wt SET wt.approveStatus = 'pending', " +
+           "wt.pendingWith = COALESCE(:pendingWith, (SELECT u.email FROM User u WHERE u.id = wt.assignedUserId)), " +
+           "wt.pendingSince = :updatedAt, wt.updatedAt = :updatedAt " +
+           "WHERE wt.initiativeId = :initiativeId AND wt.stageNumber = :stageNumber AND wt.approveStatus = 'not_started'")
+    int activateStage(@Param("initiativeId") Long initiativeId,
+                      @Param("stageNumber") Integer stageNumber,
+                      @Param("pendingWith") String pendingWith,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // Rebuilds the escalation timers on startup: one (id, pendingSince) pair per pending stage
+    @Query("SELECT wt.id, COALESCE(wt.pendingSince, wt.createdAt) FROM WorkflowTransaction wt WHERE wt.approveStatus = 'pending'")
+    List<Object[]> findPendingSince();
+    
+    // Re-routes an overdue stage; returns 0 when it was actioned or re-routed in the meantime
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WorkflowTransaction wt SET wt.pendingWith = :pendingWith, wt.updatedAt = :updatedAt " +
+           "WHERE wt.id = :id AND wt.approveStatus = 'pending' AND wt.pendingWith = :previousPendingWith")
+    int reroutePendingStage(@Param("id") Long id,
+                            @Param("previousPendingWith") String previousPendingWith,
+                            @Param("pendingWith") String pendingWith,
+                            @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Stages to take out of inboxes before their initiatives are deleted
+    @Query("SELECT wt FROM WorkflowTransaction wt WHERE wt.initiativeId IN :initiativeIds AND wt.approveStatus = 'pending'")
+    List<WorkflowTransaction> findPendingByInitiativeIds(@Param("initiativeIds") Collection<Long> initiativeIds);
+
+    // Set-based cleanup for InitiativeDeletionService.deleteInitiatives
+    @Modifying
+    @Query("DELETE FROM WorkflowTransaction wt WHERE wt.initiativeId IN :initiativeIds")
+    int deleteByInitiativeIds(@Param("initiativeIds") Collection<Long> initiativeIds);
+}
@@ -0,0 +1,63 @@
+package com.company.opexhub.security;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * One-time, short-lived tickets for URLs the browser opens itself and so cannot send an
+ * Authorization header to. The ticket goes in the query string instead of the session JWT, so
+ * what ends up in access logs and browser history is useless once it has been used.
+ */
+@Component
+public class AccessTicketService {
+
+    public static final String INBOX_STREAM = "inbox-stream";
+    public static final String REPORT_EXPORT = "report-export";
+
+    // Long enough for the browser to open the URL right after asking for the ticket
+    private static final long TTL_MS = 30000;
+
+    private final SecureRandom random = new SecureRandom();
+    private final ConcurrentMap<String, Ticket> tickets = new ConcurrentHashMap<>();
+
+    public String issue(Long userId, String purpose) {
+        byte[] bytes = new byte[24];
+        random.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tickets.put(ticket, new Ticket(userId, purpose, System.currentTimeMillis() + TTL_MS));
+        return ticket;
+    }
+
+    // The user the ticket was issued to, or null if it is unknown, used, expired or for another purpose
+    public Long redeem(String ticket, String purpose) {
+        Ticket issued = tickets.remove(ticket);
+        if (issued == null || issued.expiresAt < System.currentTimeMillis() || !issued.purpose.equals(purpose)) {
+            return null;
+        }
+        return issued.userId;
+    }
+
+    // Tickets that were asked for but never used
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        tickets.values().removeIf(ticket -> ticket.expiresAt < now);
+    }
+
+    private static final class Ticket {
+        private final Long userId;
+        private final String purpose;
+        private final long expiresAt;
+
+        Ticket(Long userId, String purpose, long expiresAt) {
+            this.userId = userId;
+            this.purpose = purpose;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
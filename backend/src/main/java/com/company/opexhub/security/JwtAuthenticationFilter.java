@@ -25,16 +25,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private AccessTicketService accessTicketService;
+
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
+            Long userId;
 
             if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromJWT(jwt);
+                userId = tokenProvider.getUserIdFromJWT(jwt);
+            } else {
+                userId = getUserIdFromTicket(request);
+            }
 
+            if (userId != null) {
                 UserDetails userDetails = customUserDetailsService.loadUserById(userId);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -55,4 +63,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
+
+    // EventSource and plain download links cannot send headers, so the inbox stream and report
+    // exports take a one-time ticket in the query string instead of the JWT
+    private Long getUserIdFromTicket(HttpServletRequest request) {
+        String ticket = request.getParameter("ticket");
+        if (!StringUtils.hasText(ticket)) {
+            return null;
+        }
+        if (request.getRequestURI().endsWith("/workflow-transactions/stream")) {
+            return accessTicketService.redeem(ticket, AccessTicketService.INBOX_STREAM);
+        }
+        if (request.getRequestURI().endsWith("/reports/export")) {
+            return accessTicketService.redeem(ticket, AccessTicketService.REPORT_EXPORT);
+        }
+        return null;
+    }
 }
\ No newline at end of file
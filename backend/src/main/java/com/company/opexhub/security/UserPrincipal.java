@@ -53,6 +53,7 @@ public class UserPrincipal implements UserDetails {
 
     public Long getId() { return id; }
     public String getFullName() { return fullName; }
+    public String getEmail() { return email; }
     public String getSite() { return site; }
     public String getDiscipline() { return discipline; }
     public String getRole() { return role; }
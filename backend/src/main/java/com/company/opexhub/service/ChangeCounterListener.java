@@ -0,0 +1,29 @@
+package com.company.opexhub.service;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Bumps the {@link ChangeCounters} entry of any entity it is registered on whenever one of its
+ * rows is written.
+ */
+@Component
+public class ChangeCounterListener {
+
+    @Autowired
+    @Lazy
+    private ChangeCounters changeCounters;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        changeCounters.recordChange(Hibernate.getClass(entity));
+    }
+}
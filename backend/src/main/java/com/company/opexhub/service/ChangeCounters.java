@@ -0,0 +1,51 @@
+package com.company.opexhub.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-entity change counters behind the ETags of list endpoints (see {@link ChangeCounterListener}).
+ * A tag read before a list is loaded can only be older than the rows it is sent with, never newer,
+ * so a client holding it is never told a changed list is unchanged.
+ */
+@Component
+public class ChangeCounters {
+
+    // Counters restart with the process, so tags from a previous run must never match
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ConcurrentMap<Class<?>, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    public void recordChange(Class<?> entityClass) {
+        AtomicLong counter = counter(entityClass);
+        counter.incrementAndGet();
+
+        // Bumped once at flush so readers stop matching before the commit, and again afterwards so
+        // a tag read while the commit was in progress does not match either
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    counter.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    public String tag(Class<?>... entityClasses) {
+        StringBuilder tag = new StringBuilder(epoch);
+        for (Class<?> entityClass : entityClasses) {
+            tag.append('.').append(counter(entityClass).get());
+        }
+        return tag.toString();
+    }
+
+    private AtomicLong counter(Class<?> entityClass) {
+        return counters.computeIfAbsent(entityClass, key -> new AtomicLong());
+    }
+}
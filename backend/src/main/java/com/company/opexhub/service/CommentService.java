@@ -3,26 +3,47 @@ package com.company.opexhub.service;
 import com.company.opexhub.entity.Comment;
 import com.company.opexhub.entity.User;
 import com.company.opexhub.repository.CommentRepository;
+import com.company.opexhub.repository.FieldSetQuery;
 import com.company.opexhub.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class CommentService {
 
+    // Sparse fieldset names for the comment's author
+    private static final Map<String, String> FIELD_ALIASES = new HashMap<>();
+
+    static {
+        FIELD_ALIASES.put("userId", "user.id");
+        FIELD_ALIASES.put("userName", "user.fullName");
+    }
+
     @Autowired
     private CommentRepository commentRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private FieldSetQuery fieldSetQuery;
+
     public List<Comment> getCommentsByInitiative(Long initiativeId) {
         return commentRepository.findByInitiativeIdOrderByCreatedAtDesc(initiativeId);
     }
 
+    public List<Map<String, Object>> getCommentFieldsByInitiative(Long initiativeId, String fields) {
+        List<String> columns = fieldSetQuery.resolve(Comment.class, fields, FIELD_ALIASES);
+        return fieldSetQuery.selectEqual(Comment.class, columns, FIELD_ALIASES,
+                "initiative.id", initiativeId, Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
+
     @Transactional
     public Comment createComment(Comment comment, Long userId) {
         User user = userRepository.findById(userId)
@@ -0,0 +1,83 @@
+package com.company.opexhub.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch for dwell times in seconds, after DDSketch: values fall into
+ * logarithmic buckets so any quantile is returned within 1% relative error, and the number
+ * of buckets grows with the log of the value range rather than with the sample count.
+ */
+public final class DwellTimeSketch {
+
+    private static final double RELATIVE_ACCURACY = 0.01;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+
+    public void add(long seconds) {
+        // Sub-second dwell carries no signal for SLA purposes
+        if (seconds < 1) {
+            zeroCount++;
+        } else {
+            buckets.merge((int) Math.ceil(Math.log(seconds) / LOG_GAMMA), 1L, Long::sum);
+        }
+        count++;
+    }
+
+    public long getCount() { return count; }
+
+    public double quantile(double q) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        if (rank < zeroCount) {
+            return 0;
+        }
+        long seen = zeroCount;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) {
+                return 2 * Math.pow(GAMMA, bucket.getKey()) / (GAMMA + 1);
+            }
+        }
+        return 2 * Math.pow(GAMMA, buckets.lastKey()) / (GAMMA + 1);
+    }
+
+    // Compact text form "zeroCount;index:count,index:count,..." stored with the aggregate row
+    public String encode() {
+        StringBuilder encoded = new StringBuilder().append(zeroCount).append(';');
+        boolean first = true;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            if (!first) {
+                encoded.append(',');
+            }
+            encoded.append(bucket.getKey()).append(':').append(bucket.getValue());
+            first = false;
+        }
+        return encoded.toString();
+    }
+
+    public static DwellTimeSketch decode(String encoded) {
+        DwellTimeSketch sketch = new DwellTimeSketch();
+        if (encoded == null || encoded.isEmpty()) {
+            return sketch;
+        }
+        String[] parts = encoded.split(";", -1);
+        sketch.zeroCount = Long.parseLong(parts[0]);
+        sketch.count = sketch.zeroCount;
+        if (parts.length > 1 && !parts[1].isEmpty()) {
+            for (String bucket : parts[1].split(",")) {
+                int separator = bucket.indexOf(':');
+                long bucketCount = Long.parseLong(bucket.substring(separator + 1));
+                sketch.buckets.put(Integer.parseInt(bucket.substring(0, separator)), bucketCount);
+                sketch.count += bucketCount;
+            }
+        }
+        return sketch;
+    }
+}
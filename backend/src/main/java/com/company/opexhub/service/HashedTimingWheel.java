@@ -0,0 +1,150 @@
+package com.company.opexhub.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel with one timer per key. Scheduling and cancelling are O(1); each tick the
+ * worker thread only visits the timers hashed to the current slot, so the cost per tick is about
+ * (armed timers / wheel size) comparisons no matter how far away the deadlines are. New timers go
+ * through a queue that only the worker drains into the wheel, at the start of each tick, so a timer
+ * can never land in a slot behind a scan in progress and wait a whole revolution.
+ */
+public final class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Set<Timer<K>>> wheel;
+    private final ConcurrentMap<K, Timer<K>> timersByKey = new ConcurrentHashMap<>();
+    private final Queue<Timer<K>> scheduled = new ConcurrentLinkedQueue<>();
+    private final Consumer<K> expiryHandler;
+    private final long startNanos = System.nanoTime();
+    private long currentTick; // worker thread only
+    private volatile boolean running;
+    private Thread worker;
+
+    public HashedTimingWheel(long tickMillis, int wheelSize, Consumer<K> expiryHandler) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.expiryHandler = expiryHandler;
+        this.wheel = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            wheel.add(ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    public synchronized void start(String threadName) {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, threadName);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    // Re-scheduling a key replaces its previous timer
+    public void schedule(K key, long delayMillis) {
+        long elapsedTicks = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) / tickMillis;
+        long deadlineTick = elapsedTicks + Math.max(1, (delayMillis + tickMillis - 1) / tickMillis);
+        Timer<K> timer = new Timer<>(key, deadlineTick);
+
+        Timer<K> previous = timersByKey.put(key, timer);
+        if (previous != null) {
+            slot(previous.deadlineTick).remove(previous);
+        }
+        scheduled.add(timer);
+    }
+
+    public boolean cancel(K key) {
+        Timer<K> timer = timersByKey.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        slot(timer.deadlineTick).remove(timer);
+        return true;
+    }
+
+    public int size() {
+        return timersByKey.size();
+    }
+
+    private Set<Timer<K>> slot(long tick) {
+        return wheel.get((int) (tick & mask));
+    }
+
+    private void run() {
+        while (running) {
+            long tick = currentTick + 1;
+            long sleepMillis = tick * tickMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            if (sleepMillis > 0) {
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                }
+            }
+
+            transferScheduled(tick);
+
+            List<K> expired = new ArrayList<>();
+            Iterator<Timer<K>> timers = slot(tick).iterator();
+            while (timers.hasNext()) {
+                Timer<K> timer = timers.next();
+                // Timers for later revolutions share the slot and stay put
+                if (timer.deadlineTick <= tick) {
+                    timers.remove();
+                    if (timersByKey.remove(timer.key, timer)) {
+                        expired.add(timer.key);
+                    }
+                }
+            }
+            currentTick = tick;
+
+            for (K key : expired) {
+                expiryHandler.accept(key);
+            }
+        }
+    }
+
+    // Worker thread only. Deadlines already reached go in this tick's slot, which is scanned next
+    private void transferScheduled(long tick) {
+        Timer<K> timer;
+        while ((timer = scheduled.poll()) != null) {
+            // Skips timers cancelled or replaced before they reached the wheel
+            if (timersByKey.get(timer.key) == timer) {
+                slot(Math.max(timer.deadlineTick, tick)).add(timer);
+            }
+        }
+    }
+
+    private static final class Timer<K> {
+        private final K key;
+        private final long deadlineTick;
+
+        Timer(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
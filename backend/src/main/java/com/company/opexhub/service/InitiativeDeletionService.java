@@ -0,0 +1,144 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.entity.Comment;
+import com.company.opexhub.entity.Initiative;
+import com.company.opexhub.entity.MonthlyMonitoringEntry;
+import com.company.opexhub.entity.TimelineEntry;
+import com.company.opexhub.entity.TimelineTask;
+import com.company.opexhub.entity.WorkflowTransaction;
+import com.company.opexhub.repository.CommentRepository;
+import com.company.opexhub.repository.InitiativeRepository;
+import com.company.opexhub.repository.MonthlyMonitoringEntryRepository;
+import com.company.opexhub.repository.TimelineEntryRepository;
+import com.company.opexhub.repository.TimelineTaskRepository;
+import com.company.opexhub.repository.WorkflowEscalationRepository;
+import com.company.opexhub.repository.WorkflowEventRepository;
+import com.company.opexhub.repository.WorkflowOutboxRepository;
+import com.company.opexhub.repository.WorkflowSnapshotRepository;
+import com.company.opexhub.repository.WorkflowTransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Deletes initiatives together with every row that references them, using one DELETE per table
+ * rather than loading and cascading through each child. Bulk statements bypass the entity
+ * listeners, so their side effects (rollups, caches, search index, inboxes) are applied here.
+ */
+@Service
+public class InitiativeDeletionService {
+
+    // Keeps the IN lists within what the database handles comfortably
+    private static final int ID_BATCH_SIZE = 1000;
+
+    @Autowired
+    private InitiativeRepository initiativeRepository;
+
+    @Autowired
+    private TimelineTaskRepository timelineTaskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TimelineEntryRepository timelineEntryRepository;
+
+    @Autowired
+    private MonthlyMonitoringEntryRepository monthlyMonitoringEntryRepository;
+
+    @Autowired
+    private WorkflowTransactionRepository workflowTransactionRepository;
+
+    @Autowired
+    private WorkflowEventRepository workflowEventRepository;
+
+    @Autowired
+    private WorkflowSnapshotRepository workflowSnapshotRepository;
+
+    @Autowired
+    private WorkflowEscalationRepository workflowEscalationRepository;
+
+    @Autowired
+    private WorkflowOutboxRepository workflowOutboxRepository;
+
+    @Autowired
+    private KpiRollupService kpiRollupService;
+
+    @Autowired
+    private KpiSummaryCache kpiSummaryCache;
+
+    @Autowired
+    private InitiativeSearchIndex initiativeSearchIndex;
+
+    @Autowired
+    private ChangeCounters changeCounters;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    // Returns the ids that existed and were deleted; unknown ids are ignored
+    @Transactional
+    public List<Long> deleteInitiatives(Collection<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<Long> deleted = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += ID_BATCH_SIZE) {
+            deleted.addAll(deleteBatch(distinctIds.subList(from, Math.min(from + ID_BATCH_SIZE, distinctIds.size()))));
+        }
+        if (deleted.isEmpty()) {
+            return deleted;
+        }
+
+        kpiSummaryCache.invalidateAll();
+        for (Class<?> entityClass : new Class<?>[] { Initiative.class, TimelineTask.class, Comment.class,
+                TimelineEntry.class, MonthlyMonitoringEntry.class }) {
+            changeCounters.recordChange(entityClass);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleted.forEach(initiativeSearchIndex::remove);
+            }
+        });
+        return deleted;
+    }
+
+    private List<Long> deleteBatch(List<Long> ids) {
+        List<Initiative> initiatives = initiativeRepository.findAllForDelete(ids);
+        List<Long> found = new ArrayList<>(initiatives.size());
+        List<KpiRollupService.Contribution> contributions = new ArrayList<>(initiatives.size());
+        for (Initiative initiative : initiatives) {
+            found.add(initiative.getId());
+            contributions.add(KpiRollupService.Contribution.of(initiative));
+        }
+        if (found.isEmpty()) {
+            return found;
+        }
+        kpiRollupService.removeAll(contributions);
+
+        // Takes pending stages out of their assignees' inboxes, which also disarms the escalation timers
+        for (WorkflowTransaction transaction : workflowTransactionRepository.findPendingByInitiativeIds(found)) {
+            applicationEventPublisher.publishEvent(WorkflowInboxEvent.removed(transaction, transaction.getPendingWith()));
+        }
+
+        // Children first; the initiatives go last because the JPA-mapped tables reference them
+        commentRepository.deleteByInitiativeIds(found);
+        timelineTaskRepository.deleteByInitiativeIds(found);
+        timelineEntryRepository.deleteByInitiativeIds(found);
+        monthlyMonitoringEntryRepository.deleteByInitiativeIds(found);
+        workflowEventRepository.deleteByInitiativeIds(found);
+        workflowSnapshotRepository.deleteByInitiativeIds(found);
+        workflowEscalationRepository.deleteByInitiativeIds(found);
+        workflowOutboxRepository.deleteByInitiativeIds(found);
+        workflowTransactionRepository.deleteByInitiativeIds(found);
+        initiativeRepository.deleteByIds(found);
+        return found;
+    }
+}
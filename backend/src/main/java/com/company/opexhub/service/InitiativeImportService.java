@@ -0,0 +1,261 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.dto.InitiativeImportError;
+import com.company.opexhub.dto.InitiativeImportResult;
+import com.company.opexhub.dto.InitiativeRequest;
+import com.company.opexhub.entity.Initiative;
+import com.company.opexhub.entity.User;
+import com.company.opexhub.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Bulk initiative import from CSV. Rows are parsed and validated one at a time and inserted,
+ * with their first workflow stages, in chunks of one transaction each, so neither the file nor
+ * the persistence context grows with the size of the import.
+ */
+@Service
+public class InitiativeImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    // Header names are matched ignoring case, spaces and punctuation, so "Expected Savings" works
+    // as well as "expectedSavings" and an initiatives export can be imported again
+    private static final String[] REQUIRED_COLUMNS = { "title", "priority", "expectedsavings", "site", "discipline" };
+
+    @Autowired
+    private InitiativeService initiativeService;
+
+    @Autowired
+    private KpiRollupService kpiRollupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WorkflowDefinitionCache workflowDefinitionCache;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${initiatives.import.chunk-size:500}")
+    private int chunkSize;
+
+    public InitiativeImportResult importInitiatives(InputStream in, Long userId) throws IOException {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        CsvRowReader reader = new CsvRowReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = reader.readRow();
+        if (header == null) {
+            throw new RuntimeException("The file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(normalize(header.get(i)), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new RuntimeException("Missing column: " + column);
+            }
+        }
+
+        InitiativeImportResult result = new InitiativeImportResult();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        List<String> row;
+        while ((row = reader.readRow()) != null) {
+            if (isBlank(row)) {
+                continue;
+            }
+            result.setRowsRead(result.getRowsRead() + 1);
+            long line = reader.getRecordLine();
+            try {
+                chunk.add(new ImportRow(line, toRequest(row, columns)));
+            } catch (RuntimeException e) {
+                recordError(result, line, e.getMessage());
+                continue;
+            }
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, user, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, user, result);
+        }
+        return result;
+    }
+
+    private void importChunk(List<ImportRow> chunk, User user, InitiativeImportResult result) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            // One transaction per chunk so the initiative, stage and event inserts go out as JDBC batches
+            transactionTemplate.execute(status -> {
+                List<Initiative> initiatives = new ArrayList<>(chunk.size());
+                List<KpiRollupService.Contribution> contributions = new ArrayList<>(chunk.size());
+                for (ImportRow row : chunk) {
+                    Initiative initiative = initiativeService.newInitiative(row.request, user);
+                    initiatives.add(initiative);
+                    contributions.add(KpiRollupService.Contribution.of(initiative));
+                }
+                // Rollups first: their lookups would otherwise auto-flush (and dirty check) every
+                // initiative, stage and event already queued in this transaction
+                kpiRollupService.addAll(contributions);
+                for (Initiative initiative : initiatives) {
+                    initiativeService.insertInitiative(initiative);
+                }
+                // The request's EntityManager outlives the transaction (open-in-view), so drop the
+                // chunk from it or every later flush would dirty check all previous chunks again
+                entityManager.flush();
+                entityManager.clear();
+                return null;
+            });
+            result.setImported(result.getImported() + chunk.size());
+        } catch (RuntimeException e) {
+            // A failing row rolled the whole chunk back, so replay it row by row
+            for (ImportRow row : chunk) {
+                try {
+                    transactionTemplate.execute(status -> {
+                        Initiative initiative = initiativeService.insertInitiative(
+                                initiativeService.newInitiative(row.request, user));
+                        kpiRollupService.add(KpiRollupService.Contribution.of(initiative));
+                        entityManager.flush();
+                        entityManager.clear();
+                        return null;
+                    });
+                    result.setImported(result.getImported() + 1);
+                } catch (RuntimeException rowException) {
+                    recordError(result, row.line, rowException.getMessage());
+                }
+            }
+        }
+    }
+
+    private InitiativeRequest toRequest(List<String> row, Map<String, Integer> columns) {
+        InitiativeRequest request = new InitiativeRequest();
+        request.setTitle(text(row, columns, "title"));
+        request.setDescription(text(row, columns, "description"));
+        request.setPriority(text(row, columns, "priority"));
+        request.setSite(text(row, columns, "site"));
+        request.setDiscipline(text(row, columns, "discipline"));
+
+        String expectedSavings = text(row, columns, "expectedsavings");
+        if (expectedSavings != null) {
+            try {
+                request.setExpectedSavings(new BigDecimal(expectedSavings));
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid expectedSavings: " + expectedSavings);
+            }
+        }
+        request.setStartDate(date(row, columns, "startdate"));
+        request.setEndDate(date(row, columns, "enddate"));
+        request.setRequiresMoc(flag(row, columns, "requiresmoc"));
+        request.setRequiresCapex(flag(row, columns, "requirescapex"));
+
+        // The same constraints POST /api/initiatives applies through @Valid
+        TreeSet<String> violations = new TreeSet<>();
+        for (ConstraintViolation<InitiativeRequest> violation : validator.validate(request)) {
+            violations.add(violation.getPropertyPath() + " " + violation.getMessage());
+        }
+        if (!violations.isEmpty()) {
+            throw new RuntimeException(String.join(", ", violations));
+        }
+        // Caught here rather than by rolling back a chunk in createInitialWorkflowTransactions
+        if (workflowDefinitionCache.get(request.getSite()).isEmpty()) {
+            throw new RuntimeException("No workflow configuration found for site: " + request.getSite());
+        }
+        return request;
+    }
+
+    private static String text(List<String> row, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= row.size()) {
+            return null;
+        }
+        String value = row.get(index).trim();
+        // Undo the formula guard CsvReportWriter puts in front of text starting with = + - @
+        if (value.length() > 1 && value.charAt(0) == '\'' && "=+-@".indexOf(value.charAt(1)) >= 0) {
+            value = value.substring(1);
+        }
+        return value.isEmpty() ? null : value;
+    }
+
+    private static LocalDate date(List<String> row, Map<String, Integer> columns, String column) {
+        String value = text(row, columns, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Invalid " + column + ", expected yyyy-MM-dd: " + value);
+        }
+    }
+
+    private static Boolean flag(List<String> row, Map<String, Integer> columns, String column) {
+        String value = text(row, columns, column);
+        if (value == null || value.equalsIgnoreCase("false") || value.equalsIgnoreCase("no") || value.equals("0")) {
+            return false;
+        }
+        if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("yes") || value.equals("1")) {
+            return true;
+        }
+        throw new RuntimeException("Invalid " + column + ", expected true or false: " + value);
+    }
+
+    private static String normalize(String header) {
+        return header.replaceAll("[^A-Za-z0-9]", "").toLowerCase();
+    }
+
+    private static boolean isBlank(List<String> row) {
+        for (String value : row) {
+            if (!value.trim().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void recordError(InitiativeImportResult result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new InitiativeImportError(line, message));
+        }
+    }
+
+    private static final class ImportRow {
+        private final long line;
+        private final InitiativeRequest request;
+
+        private ImportRow(long line, InitiativeRequest request) {
+            this.line = line;
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.entity.Initiative;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Clears the cached KPI summaries whenever an initiative is inserted, updated or deleted
+ * through JPA.
+ */
+@Component
+public class InitiativeKpiChangeListener {
+
+    // Hibernate instantiates listeners while the EntityManagerFactory is still being built
+    @Autowired
+    @Lazy
+    private KpiSummaryCache kpiSummaryCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Initiative initiative) {
+        kpiSummaryCache.invalidateAll();
+    }
+}
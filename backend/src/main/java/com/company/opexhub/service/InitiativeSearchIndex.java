@@ -0,0 +1,219 @@
+package com.company.opexhub.service;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over initiative title and description, ranked with BM25. Title terms
+ * count double. The last query term also matches as a prefix so partially typed words still hit.
+ * Site and status are kept per document so filtered searches never touch the database.
+ * Maintained by {@link InitiativeSearchIndexListener} and rebuilt on startup.
+ */
+@Component
+public class InitiativeSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    // Prefix expansions of the last term score below an exact match of it
+    private static final double PREFIX_WEIGHT = 0.5;
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    public void put(Long id, String title, String description, String status, String site) {
+        byte[] fingerprint = fingerprint(title, description);
+        lock.writeLock().lock();
+        try {
+            Document existing = documents.get(id);
+            // Workflow progress updates the row constantly; only re-tokenize when the text changed
+            if (existing != null && MessageDigest.isEqual(existing.fingerprint, fingerprint)) {
+                existing.status = status;
+                existing.site = site;
+                return;
+            }
+            removeLocked(id);
+
+            Map<String, Integer> termFrequencies = new HashMap<>();
+            for (String term : tokenize(title)) {
+                termFrequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+            }
+            for (String term : tokenize(description)) {
+                termFrequencies.merge(term, 1, Integer::sum);
+            }
+
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), key -> new HashMap<>()).put(id, entry.getValue());
+                length += entry.getValue();
+            }
+            documents.put(id, new Document(fingerprint, length, termFrequencies.keySet(), status, site));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids of all matching initiatives, best match first; status and site are optional filters
+    public List<Long> search(String query, String status, String site) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return Collections.emptyList();
+            }
+            double averageLength = (double) totalLength / documents.size();
+            Map<Long, Double> scores = new HashMap<>();
+
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                Map<String, Map<Long, Integer>> matches = i == terms.size() - 1
+                        ? postings.subMap(term, true, term + Character.MAX_VALUE, false)
+                        : postings.containsKey(term) ? Collections.singletonMap(term, postings.get(term)) : Collections.emptyMap();
+
+                for (Map.Entry<String, Map<Long, Integer>> match : matches.entrySet()) {
+                    Map<Long, Integer> posting = match.getValue();
+                    double weight = match.getKey().equals(term) ? 1 : PREFIX_WEIGHT;
+                    double idf = weight * Math.log(1 + (documents.size() - posting.size() + 0.5) / (posting.size() + 0.5));
+                    for (Map.Entry<Long, Integer> entry : posting.entrySet()) {
+                        Document document = documents.get(entry.getKey());
+                        if ((status != null && !status.equals(document.status)) || (site != null && !site.equals(document.site))) {
+                            continue;
+                        }
+                        int tf = entry.getValue();
+                        double score = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * document.length / averageLength));
+                        scores.merge(entry.getKey(), score, Double::sum);
+                    }
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort((a, b) -> {
+                int byScore = Double.compare(b.getValue(), a.getValue());
+                return byScore != 0 ? byScore : Long.compare(b.getKey(), a.getKey());
+            });
+            List<Long> ids = new ArrayList<>(ranked.size());
+            for (Map.Entry<Long, Double> entry : ranked) {
+                ids.add(entry.getKey());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= document.length;
+    }
+
+    // SHA-256 of the indexed text, so an edit is never mistaken for unchanged the way a colliding
+    // 32-bit hash could be, without keeping every description in memory
+    private static byte[] fingerprint(String title, String description) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 is not available", e);
+        }
+        for (String text : new String[] { title, description }) {
+            byte[] bytes = text == null ? new byte[0] : text.getBytes(StandardCharsets.UTF_8);
+            // Length prefixed so the boundary between title and description is part of the digest
+            digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+            digest.update(bytes);
+        }
+        return digest.digest();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    private static final class Document {
+        private final byte[] fingerprint;
+        private final int length;
+        private final Set<String> terms;
+        private volatile String status;
+        private volatile String site;
+
+        Document(byte[] fingerprint, int length, Set<String> terms, String status, String site) {
+            this.fingerprint = fingerprint;
+            this.length = length;
+            this.terms = new HashSet<>(terms);
+            this.status = status;
+            this.site = site;
+        }
+    }
+}
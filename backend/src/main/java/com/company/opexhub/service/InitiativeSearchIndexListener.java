@@ -0,0 +1,75 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.entity.Initiative;
+import com.company.opexhub.repository.InitiativeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Keeps {@link InitiativeSearchIndex} in step with the initiatives table. Changes are applied
+ * once the writing transaction commits, so rolled back edits never become searchable.
+ */
+@Component
+public class InitiativeSearchIndexListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(InitiativeSearchIndexListener.class);
+
+    // Hibernate instantiates listeners while the EntityManagerFactory is still being built
+    @Autowired
+    @Lazy
+    private InitiativeSearchIndex initiativeSearchIndex;
+
+    @Autowired
+    @Lazy
+    private InitiativeRepository initiativeRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        initiativeSearchIndex.clear();
+        for (Object[] row : initiativeRepository.findSearchDocuments()) {
+            initiativeSearchIndex.put((Long) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4]);
+        }
+        logger.info("Indexed {} initiatives for search", initiativeSearchIndex.size());
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Initiative initiative) {
+        Long id = initiative.getId();
+        String title = initiative.getTitle();
+        String description = initiative.getDescription();
+        String status = initiative.getStatus();
+        String site = initiative.getSite();
+        afterCommit(() -> initiativeSearchIndex.put(id, title, description, status, site));
+    }
+
+    @PostRemove
+    public void onRemove(Initiative initiative) {
+        Long id = initiative.getId();
+        afterCommit(() -> initiativeSearchIndex.remove(id));
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
@@ -1,24 +1,39 @@
 package com.company.opexhub.service;
 
+import com.company.opexhub.dto.CursorPage;
+import com.company.opexhub.dto.InitiativeCursor;
+import com.company.opexhub.dto.InitiativeFilter;
 import com.company.opexhub.dto.InitiativeRequest;
+import com.company.opexhub.dto.InitiativeSummary;
 import com.company.opexhub.entity.Initiative;
 import com.company.opexhub.entity.User;
-import com.company.opexhub.entity.WorkflowStage;
 import com.company.opexhub.repository.InitiativeRepository;
 import com.company.opexhub.repository.UserRepository;
-import com.company.opexhub.repository.WorkflowStageRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class InitiativeService {
 
+    // Keeps the IN lists of the search post-filter within what the database handles comfortably
+    private static final int MATCH_BATCH_SIZE = 1000;
+
     @Autowired
     private InitiativeRepository initiativeRepository;
 
@@ -26,10 +41,16 @@ public class InitiativeService {
     private UserRepository userRepository;
 
     @Autowired
-    private WorkflowStageRepository workflowStageRepository;
+    private WorkflowTransactionService workflowTransactionService;
 
     @Autowired
-    private WorkflowTransactionService workflowTransactionService;
+    private InitiativeSearchIndex initiativeSearchIndex;
+
+    @Autowired
+    private KpiRollupService kpiRollupService;
+
+    @Autowired
+    private InitiativeDeletionService initiativeDeletionService;
 
     public Page<Initiative> getAllInitiatives(Pageable pageable) {
         return initiativeRepository.findAll(pageable);
@@ -43,24 +64,132 @@ public class InitiativeService {
         return initiativeRepository.findBySite(site, pageable);
     }
 
-    public Page<Initiative> searchInitiatives(String status, String site, String title, Pageable pageable) {
-        if (status != null && site != null && title != null) {
-            return initiativeRepository.findByStatusAndSiteAndTitleContaining(status, site, title, pageable);
-        } else if (title != null) {
-            return initiativeRepository.findByTitleContaining(title, pageable);
-        } else if (status != null && site != null) {
-            return initiativeRepository.findByStatusAndSite(status, site, pageable);
-        } else if (status != null) {
-            return initiativeRepository.findByStatus(status, pageable);
-        } else if (site != null) {
-            return initiativeRepository.findBySite(site, pageable);
+    public Page<InitiativeSummary> searchInitiatives(InitiativeFilter filter, String text, Pageable pageable) {
+        if (text != null && !text.trim().isEmpty()) {
+            return searchByText(text, filter, pageable);
+        }
+        return initiativeRepository.findSummaries(filter, pageable);
+    }
+
+    // Sparse fieldset variant of searchInitiatives: only the named columns (and id) are selected
+    public Page<Map<String, Object>> searchInitiativeFields(InitiativeFilter filter, String text, String fields,
+                                                            Pageable pageable) {
+        List<String> columns = initiativeRepository.resolveFields(fields);
+        if (text == null || text.trim().isEmpty()) {
+            return initiativeRepository.findFields(filter, columns, pageable);
+        }
+
+        List<Long> ids = searchIds(text, filter);
+        List<Long> pageIds = pageOf(ids, pageable);
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(new ArrayList<>(), pageable, ids.size());
+        }
+        Map<Long, Map<String, Object>> byId = initiativeRepository.findFieldsByIdIn(columns, pageIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row.get("id"), Function.identity()));
+        return new PageImpl<>(inOrder(pageIds, byId), pageable, ids.size());
+    }
+
+    // Full-text search over title and description, most relevant first
+    private Page<InitiativeSummary> searchByText(String text, InitiativeFilter filter, Pageable pageable) {
+        List<Long> ids = searchIds(text, filter);
+        List<Long> pageIds = pageOf(ids, pageable);
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(new ArrayList<>(), pageable, ids.size());
+        }
+        Map<Long, InitiativeSummary> byId = initiativeRepository.findSummariesByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(InitiativeSummary::getId, Function.identity()));
+        return new PageImpl<>(inOrder(pageIds, byId), pageable, ids.size());
+    }
+
+    private List<Long> searchIds(String text, InitiativeFilter filter) {
+        List<Long> ids = initiativeSearchIndex.search(text, filter.getStatus(), filter.getSite());
+        if (!filter.isStatusAndSiteOnly()) {
+            ids = retainMatching(ids, filter);
+        }
+        return ids;
+    }
+
+    private static List<Long> pageOf(List<Long> ids, Pageable pageable) {
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), ids.size()) : 0;
+        int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), ids.size()) : ids.size();
+        return ids.subList(from, to);
+    }
+
+    private static <T> List<T> inOrder(List<Long> ids, Map<Long, T> byId) {
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // Applies the filters the index does not hold, keeping the ranking order
+    private List<Long> retainMatching(List<Long> rankedIds, InitiativeFilter filter) {
+        Set<Long> matching = new HashSet<>();
+        for (int i = 0; i < rankedIds.size(); i += MATCH_BATCH_SIZE) {
+            matching.addAll(initiativeRepository.findMatchingIds(filter,
+                    rankedIds.subList(i, Math.min(i + MATCH_BATCH_SIZE, rankedIds.size()))));
+        }
+        return rankedIds.stream().filter(matching::contains).collect(Collectors.toList());
+    }
+
+    public CursorPage<InitiativeSummary> getInitiativesAfter(InitiativeFilter filter, String cursor, int size,
+                                                             boolean includeTotal) {
+        // Seeks past the last row of the previous page instead of counting off an OFFSET
+        List<InitiativeSummary> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = initiativeRepository.findKeysetSummaries(filter, null, null, size + 1);
         } else {
-            return initiativeRepository.findAll(pageable);
+            InitiativeCursor after = InitiativeCursor.decode(cursor);
+            rows = initiativeRepository.findKeysetSummaries(filter, after.getCreatedAt(), after.getId(), size + 1);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            InitiativeSummary last = rows.get(size - 1);
+            nextCursor = new InitiativeCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        Long total = includeTotal ? initiativeRepository.countMatching(filter) : null;
+        return new CursorPage<>(rows, nextCursor, total);
+    }
+
+    public CursorPage<Map<String, Object>> getInitiativeFieldsAfter(InitiativeFilter filter, String cursor,
+                                                                   String fields, int size, boolean includeTotal) {
+        List<String> columns = initiativeRepository.resolveFields(fields);
+        // The cursor is built from createdAt, so select it even when the client did not ask for it
+        boolean addCreatedAt = !columns.contains("createdAt");
+        if (addCreatedAt) {
+            columns.add("createdAt");
+        }
+
+        List<Map<String, Object>> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = initiativeRepository.findKeysetFields(filter, null, null, columns, size + 1);
+        } else {
+            InitiativeCursor after = InitiativeCursor.decode(cursor);
+            rows = initiativeRepository.findKeysetFields(filter, after.getCreatedAt(), after.getId(),
+                    columns, size + 1);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Map<String, Object> last = rows.get(size - 1);
+            nextCursor = new InitiativeCursor((LocalDateTime) last.get("createdAt"), (Long) last.get("id")).encode();
+        }
+        if (addCreatedAt) {
+            rows.forEach(row -> row.remove("createdAt"));
         }
+        Long total = includeTotal ? initiativeRepository.countMatching(filter) : null;
+        return new CursorPage<>(rows, nextCursor, total);
     }
 
     public Optional<Initiative> getInitiativeById(Long id) {
-        return initiativeRepository.findById(id);
+        return initiativeRepository.findDetailById(id);
+    }
+
+    public Optional<Long> getInitiativeVersion(Long id) {
+        return initiativeRepository.findVersionById(id);
     }
 
     @Transactional
@@ -68,6 +197,14 @@ public class InitiativeService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        Initiative savedInitiative = insertInitiative(newInitiative(request, user));
+        kpiRollupService.add(KpiRollupService.Contribution.of(savedInitiative));
+        return savedInitiative;
+    }
+
+    // newInitiative and insertInitiative are also used by InitiativeImportService, which applies
+    // the KPI rollups for a whole chunk before inserting it
+    public Initiative newInitiative(InitiativeRequest request, User user) {
         Initiative initiative = new Initiative(
                 request.getTitle(),
                 request.getDescription(),
@@ -82,59 +219,23 @@ public class InitiativeService {
 
         initiative.setRequiresMoc(request.getRequiresMoc());
         initiative.setRequiresCapex(request.getRequiresCapex());
+        return initiative;
+    }
 
+    public Initiative insertInitiative(Initiative initiative) {
         Initiative savedInitiative = initiativeRepository.save(initiative);
 
-        // Create initial workflow stages and transactions
-        createInitialWorkflowStages(savedInitiative);
+        // Create initial workflow transactions
         workflowTransactionService.createInitialWorkflowTransactions(savedInitiative);
 
         return savedInitiative;
     }
 
-    private void createInitialWorkflowStages(Initiative initiative) {
-        // New workflow stages as per the requirements
-        String[] stageNames = {
-            "Register Initiative",                    // Step 1
-            "Approval",                              // Step 2
-            "Define Responsibilities",               // Step 3
-            "MOC Stage",                            // Step 4
-            "CAPEX Stage",                          // Step 5
-            "Initiative Timeline Tracker",          // Step 6
-            "Trial Implementation & Performance Check", // Step 7
-            "Periodic Status Review with CMO",      // Step 8
-            "Savings Monitoring (1 Month)",         // Step 9
-            "Saving Validation with F&A",          // Step 10
-            "Initiative Closure"                    // Step 11
-        };
-
-        String[] requiredRoles = {
-            "STLD",    // Site TSD Lead
-            "SH",      // Site Head
-            "EH",      // Engineering Head
-            "IL",      // Initiative Lead
-            "IL",      // Initiative Lead
-            "IL",      // Initiative Lead
-            "STLD",    // Site TSD Lead
-            "CTSD",    // Corp TSD
-            "STLD",    // Site TSD Lead
-            "STLD",    // Site TSD Lead
-            "STLD"     // Site TSD Lead
-        };
-
-        for (int i = 0; i < stageNames.length; i++) {
-            WorkflowStage stage = new WorkflowStage(i + 1, stageNames[i], requiredRoles[i], initiative);
-            if (i == 0) {
-                stage.setStatus("approved"); // First stage is automatically approved when created
-            }
-            workflowStageRepository.save(stage);
-        }
-    }
-
     @Transactional
     public Initiative updateInitiative(Long id, InitiativeRequest request) {
         Initiative initiative = initiativeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Initiative not found"));
+        KpiRollupService.Contribution before = KpiRollupService.Contribution.of(initiative);
 
         initiative.setTitle(request.getTitle());
         initiative.setDescription(request.getDescription());
@@ -147,11 +248,20 @@ public class InitiativeService {
         initiative.setRequiresMoc(request.getRequiresMoc());
         initiative.setRequiresCapex(request.getRequiresCapex());
 
+        kpiRollupService.move(before, KpiRollupService.Contribution.of(initiative));
         return initiativeRepository.save(initiative);
     }
 
+    @Transactional
     public void deleteInitiative(Long id) {
-        initiativeRepository.deleteById(id);
+        if (initiativeDeletionService.deleteInitiatives(Collections.singletonList(id)).isEmpty()) {
+            throw new RuntimeException("Initiative not found");
+        }
+    }
+
+    // Returns the ids that were deleted; ids of initiatives that do not exist are skipped
+    public List<Long> deleteInitiatives(List<Long> ids) {
+        return initiativeDeletionService.deleteInitiatives(ids);
     }
 
     public Long countByStatus(String status) {
@@ -0,0 +1,257 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.entity.Initiative;
+import com.company.opexhub.entity.KpiRollup;
+import com.company.opexhub.repository.InitiativeRepository;
+import com.company.opexhub.repository.KpiRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maintains kpi_rollups alongside initiative writes. Callers capture a {@link Contribution}
+ * before mutating an initiative and hand it back with the new one, inside the same transaction,
+ * so the rollups commit or roll back with the change that caused them.
+ */
+@Service
+public class KpiRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KpiRollupService.class);
+
+    @Autowired
+    private KpiRollupRepository kpiRollupRepository;
+
+    @Autowired
+    private InitiativeRepository initiativeRepository;
+
+    @Autowired
+    private KpiSummaryCache kpiSummaryCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public void add(Contribution contribution) {
+        apply(contribution, 1);
+    }
+
+    public void remove(Contribution contribution) {
+        apply(contribution, -1);
+    }
+
+    public void addAll(Collection<Contribution> contributions) {
+        applyAll(contributions, 1);
+    }
+
+    public void removeAll(Collection<Contribution> contributions) {
+        applyAll(contributions, -1);
+    }
+
+    public void move(Contribution before, Contribution after) {
+        if (before.equals(after)) {
+            return;
+        }
+        remove(before);
+        add(after);
+    }
+
+    public List<KpiRollup> findInScope(String site, String discipline, LocalDate monthFrom, LocalDate monthTo) {
+        return kpiRollupRepository.findInScope(site, discipline, monthFrom, monthTo, KpiRollup.UNDATED);
+    }
+
+    private void apply(Contribution contribution, int sign) {
+        KpiRollup rollup = rollupFor(contribution.site, contribution.discipline, contribution.status,
+                contribution.priority, contribution.startMonth);
+        BigDecimal factor = BigDecimal.valueOf(sign);
+        rollup.add(sign, contribution.expectedSavings.multiply(factor), contribution.actualSavings.multiply(factor));
+    }
+
+    // Imports and purges land in a handful of buckets, so each bucket row is locked and updated once
+    private void applyAll(Collection<Contribution> contributions, int sign) {
+        BigDecimal factor = BigDecimal.valueOf(sign);
+        Map<List<Object>, KpiRollup> deltas = new LinkedHashMap<>();
+        for (Contribution contribution : contributions) {
+            deltas.computeIfAbsent(contribution.bucket(), key -> new KpiRollup(contribution.site,
+                            contribution.discipline, contribution.status, contribution.priority, contribution.startMonth))
+                    .add(sign, contribution.expectedSavings.multiply(factor), contribution.actualSavings.multiply(factor));
+        }
+        for (KpiRollup delta : deltas.values()) {
+            rollupFor(delta.getSite(), delta.getDiscipline(), delta.getStatus(), delta.getPriority(), delta.getStartMonth())
+                    .add(delta.getInitiativeCount(), delta.getExpectedSavings(), delta.getActualSavings());
+        }
+    }
+
+    private KpiRollup rollupFor(String site, String discipline, String status, String priority, LocalDate startMonth) {
+        // A second round covers reconcile deleting the new, still empty bucket before it was locked here
+        for (int attempt = 0; attempt < 3; attempt++) {
+            Optional<KpiRollup> rollup = kpiRollupRepository.findBySiteAndDisciplineAndStatusAndPriorityAndStartMonth(
+                    site, discipline, status, priority, startMonth);
+            if (rollup.isPresent()) {
+                return rollup.get();
+            }
+            createBucket(site, discipline, status, priority, startMonth);
+        }
+        throw new RuntimeException("Could not create KPI rollup bucket");
+    }
+
+    // Inserts an empty bucket row in a transaction of its own. When two writers create the same
+    // bucket at once, the unique key fails only the loser's insert, not its whole transaction, and
+    // both go on to lock and update the one committed row
+    private void createBucket(String site, String discipline, String status, String priority, LocalDate startMonth) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transactionTemplate.execute(transaction -> kpiRollupRepository.saveAndFlush(
+                    new KpiRollup(site, discipline, status, priority, startMonth)));
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("KPI rollup bucket {} was created concurrently",
+                    Arrays.asList(site, discipline, status, priority, startMonth));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        // Seed data is written straight through the repositories, so bring the rollups up to date once
+        reconcile();
+    }
+
+    // Safety net for writes that bypass InitiativeService / the outbox (manual SQL, restores)
+    @Scheduled(initialDelayString = "${kpi.rollup.reconcile-interval-ms:3600000}",
+               fixedDelayString = "${kpi.rollup.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int repaired = transactionTemplate.execute(status -> reconcileRollups());
+        if (repaired > 0) {
+            logger.warn("KPI rollup reconciliation repaired {} buckets", repaired);
+            kpiSummaryCache.invalidateAll();
+        } else {
+            logger.info("KPI rollups match the initiatives table");
+        }
+    }
+
+    private int reconcileRollups() {
+        // Locking every rollup first makes writers that commit later apply their deltas on top of the repair
+        Map<List<Object>, KpiRollup> stored = new HashMap<>();
+        for (KpiRollup rollup : kpiRollupRepository.findAllForUpdate()) {
+            stored.put(Arrays.asList(rollup.getSite(), rollup.getDiscipline(), rollup.getStatus(),
+                    rollup.getPriority(), rollup.getStartMonth()), rollup);
+        }
+
+        Map<List<Object>, KpiRollup> expected = new HashMap<>();
+        for (Object[] row : initiativeRepository.findKpiRollupSource()) {
+            LocalDate startMonth = row[4] != null ? ((LocalDate) row[4]).withDayOfMonth(1) : KpiRollup.UNDATED;
+            List<Object> key = Arrays.asList(row[0], row[1], row[2], row[3], startMonth);
+            expected.computeIfAbsent(key, k -> new KpiRollup((String) row[0], (String) row[1], (String) row[2],
+                            (String) row[3], startMonth))
+                    .add((Long) row[5], orZero((BigDecimal) row[6]), orZero((BigDecimal) row[7]));
+        }
+
+        int repaired = 0;
+        for (Map.Entry<List<Object>, KpiRollup> entry : expected.entrySet()) {
+            KpiRollup actual = stored.remove(entry.getKey());
+            KpiRollup recomputed = entry.getValue();
+            if (actual == null) {
+                // Through rollupFor, as a writer may be creating the same bucket right now
+                actual = rollupFor(recomputed.getSite(), recomputed.getDiscipline(), recomputed.getStatus(),
+                        recomputed.getPriority(), recomputed.getStartMonth());
+                actual.setInitiativeCount(recomputed.getInitiativeCount());
+                actual.setExpectedSavings(recomputed.getExpectedSavings());
+                actual.setActualSavings(recomputed.getActualSavings());
+                repaired++;
+            } else if (!matches(actual, recomputed)) {
+                logger.warn("KPI rollup {} drifted: count {} -> {}, expected savings {} -> {}, actual savings {} -> {}",
+                        entry.getKey(), actual.getInitiativeCount(), recomputed.getInitiativeCount(),
+                        actual.getExpectedSavings(), recomputed.getExpectedSavings(),
+                        actual.getActualSavings(), recomputed.getActualSavings());
+                actual.setInitiativeCount(recomputed.getInitiativeCount());
+                actual.setExpectedSavings(recomputed.getExpectedSavings());
+                actual.setActualSavings(recomputed.getActualSavings());
+                repaired++;
+            }
+        }
+
+        // Whatever is left has no initiatives behind it any more
+        for (KpiRollup orphan : stored.values()) {
+            if (orphan.getInitiativeCount() != 0 || orphan.getExpectedSavings().signum() != 0
+                    || orphan.getActualSavings().signum() != 0) {
+                repaired++;
+            }
+            kpiRollupRepository.delete(orphan);
+        }
+        return repaired;
+    }
+
+    private static boolean matches(KpiRollup actual, KpiRollup recomputed) {
+        return actual.getInitiativeCount().equals(recomputed.getInitiativeCount())
+                && actual.getExpectedSavings().compareTo(recomputed.getExpectedSavings()) == 0
+                && actual.getActualSavings().compareTo(recomputed.getActualSavings()) == 0;
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    /**
+     * What one initiative adds to the rollups: its bucket and its savings.
+     */
+    public static final class Contribution {
+        private final String site;
+        private final String discipline;
+        private final String status;
+        private final String priority;
+        private final LocalDate startMonth;
+        private final BigDecimal expectedSavings;
+        private final BigDecimal actualSavings;
+
+        private Contribution(Initiative initiative) {
+            this.site = initiative.getSite();
+            this.discipline = initiative.getDiscipline();
+            this.status = initiative.getStatus();
+            this.priority = initiative.getPriority();
+            this.startMonth = initiative.getStartDate() != null
+                    ? initiative.getStartDate().withDayOfMonth(1) : KpiRollup.UNDATED;
+            this.expectedSavings = orZero(initiative.getExpectedSavings());
+            this.actualSavings = orZero(initiative.getActualSavings());
+        }
+
+        public static Contribution of(Initiative initiative) {
+            return new Contribution(initiative);
+        }
+
+        private List<Object> bucket() {
+            return Arrays.asList(site, discipline, status, priority, startMonth);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Contribution)) return false;
+            Contribution other = (Contribution) o;
+            return bucket().equals(other.bucket())
+                    && expectedSavings.compareTo(other.expectedSavings) == 0
+                    && actualSavings.compareTo(other.actualSavings) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return bucket().hashCode();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.dto.InitiativeFilter;
+import com.company.opexhub.dto.KpiGroup;
+import com.company.opexhub.dto.KpiSummary;
+import com.company.opexhub.entity.KpiRollup;
+import com.company.opexhub.repository.InitiativeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class KpiService {
+
+    @Autowired
+    private InitiativeRepository initiativeRepository;
+
+    @Autowired
+    private KpiSummaryCache kpiSummaryCache;
+
+    @Autowired
+    private KpiRollupService kpiRollupService;
+
+    public KpiSummary getSummary(InitiativeFilter filter) {
+        // Status and priority are dimensions of the summary, not filters on it
+        InitiativeFilter scope = new InitiativeFilter();
+        scope.setSite(filter.getSite());
+        scope.setDiscipline(filter.getDiscipline());
+        scope.setStartDateFrom(filter.getStartDateFrom());
+        scope.setStartDateTo(filter.getStartDateTo());
+        scope.setEndDateFrom(filter.getEndDateFrom());
+        scope.setEndDateTo(filter.getEndDateTo());
+
+        String key = Arrays.asList(scope.getSite(), scope.getDiscipline(), scope.getStartDateFrom(),
+                scope.getStartDateTo(), scope.getEndDateFrom(), scope.getEndDateTo()).toString();
+        return kpiSummaryCache.get(key,
+                k -> isCoveredByRollups(scope) ? summarizeRollups(scope) : computeSummary(scope));
+    }
+
+    // Rollups are bucketed by start month, so they answer whole-month start date ranges only
+    private static boolean isCoveredByRollups(InitiativeFilter scope) {
+        LocalDate from = scope.getStartDateFrom();
+        LocalDate to = scope.getStartDateTo();
+        return scope.getEndDateFrom() == null && scope.getEndDateTo() == null
+                && (from == null || from.getDayOfMonth() == 1)
+                && (to == null || to.getDayOfMonth() == to.lengthOfMonth());
+    }
+
+    private KpiSummary summarizeRollups(InitiativeFilter scope) {
+        LocalDate monthTo = scope.getStartDateTo() != null ? scope.getStartDateTo().withDayOfMonth(1) : null;
+        Summary summary = new Summary();
+        for (KpiRollup rollup : kpiRollupService.findInScope(scope.getSite(), scope.getDiscipline(),
+                scope.getStartDateFrom(), monthTo)) {
+            summary.add(rollup.getSite(), rollup.getStatus(), rollup.getPriority(), rollup.getInitiativeCount(),
+                    rollup.getExpectedSavings(), rollup.getActualSavings());
+        }
+        return summary.toKpiSummary();
+    }
+
+    // One GROUP BY over (site, status, priority); the per-dimension totals are folded from its rows
+    private KpiSummary computeSummary(InitiativeFilter filter) {
+        Summary summary = new Summary();
+        for (Object[] row : initiativeRepository.findKpiGroups(filter)) {
+            summary.add((String) row[0], (String) row[1], (String) row[2], (Long) row[3],
+                    (BigDecimal) row[4], (BigDecimal) row[5]);
+        }
+        return summary.toKpiSummary();
+    }
+
+    private static final class Summary {
+        private final KpiGroup total = new KpiGroup("total");
+        private final Map<String, KpiGroup> byStatus = new TreeMap<>();
+        private final Map<String, KpiGroup> bySite = new TreeMap<>();
+        private final Map<String, KpiGroup> byPriority = new TreeMap<>();
+
+        void add(String site, String status, String priority, long count,
+                 BigDecimal expectedSavings, BigDecimal actualSavings) {
+            total.add(count, expectedSavings, actualSavings);
+            byStatus.computeIfAbsent(status, KpiGroup::new).add(count, expectedSavings, actualSavings);
+            bySite.computeIfAbsent(site, KpiGroup::new).add(count, expectedSavings, actualSavings);
+            byPriority.computeIfAbsent(priority, KpiGroup::new).add(count, expectedSavings, actualSavings);
+        }
+
+        KpiSummary toKpiSummary() {
+            return new KpiSummary(total, new ArrayList<>(byStatus.values()), new ArrayList<>(bySite.values()),
+                    new ArrayList<>(byPriority.values()));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.dto.KpiSummary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * KPI summaries keyed by filter. Any initiative write clears every entry (see
+ * {@link InitiativeKpiChangeListener}), since one row can fall under many filter keys.
+ */
+@Component
+public class KpiSummaryCache {
+
+    private final ConcurrentMap<String, KpiSummary> summaries = new ConcurrentHashMap<>();
+
+    public KpiSummary get(String key, Function<String, KpiSummary> loader) {
+        return summaries.computeIfAbsent(key, loader);
+    }
+
+    public void invalidateAll() {
+        summaries.clear();
+
+        // A summary computed before the writing transaction finishes does not see its rows yet,
+        // so clear again once the outcome is known.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    summaries.clear();
+                }
+            });
+        }
+    }
+}
@@ -33,6 +33,10 @@ public class MonthlyMonitoringService {
         return monthlyMonitoringRepository.findById(id);
     }
 
+    public Optional<Long> getMonitoringEntryVersion(Long id) {
+        return monthlyMonitoringRepository.findVersionById(id);
+    }
+
     @Transactional
     public MonthlyMonitoringEntry createMonitoringEntry(Long initiativeId, MonthlyMonitoringEntry monitoringEntry) {
         Initiative initiative = initiativeRepository.findById(initiativeId)
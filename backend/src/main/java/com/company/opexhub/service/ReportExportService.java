@@ -0,0 +1,91 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.dto.InitiativeExportRow;
+import com.company.opexhub.dto.InitiativeFilter;
+import com.company.opexhub.repository.InitiativeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Service
+public class ReportExportService {
+
+    private static final String[] INITIATIVE_COLUMNS = {
+            "ID", "Title", "Status", "Priority", "Site", "Discipline", "Start Date", "End Date",
+            "Current Stage", "Current Stage Name", "Progress %", "Expected Savings", "Actual Savings",
+            "Monitored Target", "Monitored Achieved", "Created By", "Created By Email", "Created At"
+    };
+
+    @Autowired
+    private InitiativeRepository initiativeRepository;
+
+    @Autowired
+    private WorkflowDefinitionCache workflowDefinitionCache;
+
+    @Value("${reports.export.fetch-size:500}")
+    private int fetchSize;
+
+    public enum Format {
+        CSV("text/csv; charset=UTF-8", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+
+        public String getExtension() { return extension; }
+
+        public static Format fromParameter(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new RuntimeException("Unsupported export format: " + value);
+        }
+    }
+
+    // Rows go from the database cursor to the output stream one at a time; nothing is collected
+    @Transactional(readOnly = true)
+    public long exportInitiatives(InitiativeFilter filter, Format format, OutputStream out) throws IOException {
+        // Stage names come from the cached site definitions rather than a join per row
+        Map<String, WorkflowDefinition> definitions = new HashMap<>();
+        long rows = 0;
+
+        try (Stream<InitiativeExportRow> stream = initiativeRepository.streamExportRows(filter, fetchSize);
+             ReportRowWriter writer = format == Format.XLSX
+                     ? new XlsxReportWriter(out, "Initiatives") : new CsvReportWriter(out)) {
+            writer.writeRow((Object[]) INITIATIVE_COLUMNS);
+
+            Iterator<InitiativeExportRow> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                InitiativeExportRow row = iterator.next();
+                WorkflowDefinition definition = definitions.computeIfAbsent(row.getSite(), workflowDefinitionCache::get);
+                row.setCurrentStageName(definition.getStage(row.getCurrentStage())
+                        .map(WorkflowDefinition.Stage::getStageName).orElse(null));
+
+                writer.writeRow(row.getId(), row.getTitle(), row.getStatus(), row.getPriority(), row.getSite(),
+                        row.getDiscipline(), row.getStartDate(), row.getEndDate(), row.getCurrentStage(), row.getCurrentStageName(),
+                        row.getProgressPercentage(), row.getExpectedSavings(), row.getActualSavings(),
+                        row.getMonitoredTarget(), row.getMonitoredAchieved(), row.getCreatedByName(),
+                        row.getCreatedByEmail(), row.getCreatedAt());
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
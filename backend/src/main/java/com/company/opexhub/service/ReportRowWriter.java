@@ -0,0 +1,17 @@
+package com.company.opexhub.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes report rows straight to an output stream, one row at a time. Values are strings,
+ * numbers or null; anything else is written with toString().
+ */
+interface ReportRowWriter extends Closeable {
+
+    void writeRow(Object... values) throws IOException;
+
+    // Finishes the document; does not close the underlying stream
+    @Override
+    void close() throws IOException;
+}
@@ -28,6 +28,10 @@ public class TimelineEntryService {
         return timelineEntryRepository.findById(id);
     }
 
+    public Optional<Long> getTimelineEntryVersion(Long id) {
+        return timelineEntryRepository.findVersionById(id);
+    }
+
     @Transactional
     public TimelineEntry createTimelineEntry(Long initiativeId, TimelineEntry timelineEntry) {
         Initiative initiative = initiativeRepository.findById(initiativeId)
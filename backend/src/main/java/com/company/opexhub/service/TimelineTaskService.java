@@ -1,12 +1,16 @@
 package com.company.opexhub.service;
 
 import com.company.opexhub.entity.TimelineTask;
+import com.company.opexhub.repository.FieldSetQuery;
 import com.company.opexhub.repository.TimelineTaskRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -15,14 +19,27 @@ public class TimelineTaskService {
     @Autowired
     private TimelineTaskRepository timelineTaskRepository;
 
+    @Autowired
+    private FieldSetQuery fieldSetQuery;
+
     public List<TimelineTask> getTasksByInitiative(Long initiativeId) {
         return timelineTaskRepository.findByInitiativeIdOrderByStartDate(initiativeId);
     }
 
+    public List<Map<String, Object>> getTaskFieldsByInitiative(Long initiativeId, String fields) {
+        List<String> columns = fieldSetQuery.resolve(TimelineTask.class, fields, Collections.emptyMap());
+        return fieldSetQuery.selectEqual(TimelineTask.class, columns, Collections.emptyMap(),
+                "initiative.id", initiativeId, Sort.by("startDate"));
+    }
+
     public Optional<TimelineTask> getTaskById(Long id) {
         return timelineTaskRepository.findById(id);
     }
 
+    public Optional<Long> getTaskVersion(Long id) {
+        return timelineTaskRepository.findVersionById(id);
+    }
+
     @Transactional
     public TimelineTask createTask(TimelineTask task) {
         return timelineTaskRepository.save(task);
@@ -0,0 +1,32 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.entity.WfMaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Evicts the cached workflow definition of a site whenever one of its WfMaster rows is
+ * inserted, updated or deleted through JPA. Bulk JPQL statements bypass this listener and
+ * must call {@link WorkflowDefinitionCache#invalidateAll()} themselves.
+ */
+@Component
+public class WfMasterChangeListener {
+
+    // Hibernate instantiates listeners while the EntityManagerFactory is still being built,
+    // before the repositories behind the cache exist, so resolve it on first use.
+    @Autowired
+    @Lazy
+    private WorkflowDefinitionCache workflowDefinitionCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(WfMaster wfMaster) {
+        workflowDefinitionCache.invalidate(wfMaster.getSite());
+    }
+}
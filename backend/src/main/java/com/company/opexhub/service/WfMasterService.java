@@ -1,7 +1,5 @@
 package com.company.opexhub.service;
 
-import com.company.opexhub.entity.WfMaster;
-import com.company.opexhub.repository.WfMasterRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -12,23 +10,27 @@ import java.util.Optional;
 public class WfMasterService {
 
     @Autowired
-    private WfMasterRepository wfMasterRepository;
+    private WorkflowDefinitionCache workflowDefinitionCache;
 
-    public List<WfMaster> getWorkflowConfigForSite(String site) {
-        return wfMasterRepository.findBySiteAndIsActiveOrderByStageNumber(site, true);
+    public List<WorkflowDefinition.Stage> getWorkflowConfigForSite(String site) {
+        return workflowDefinitionCache.get(site).getStages();
     }
 
-    public Optional<WfMaster> getWorkflowUserForStage(String site, Integer stageNumber) {
-        return wfMasterRepository.findWorkflowUserForStage(site, stageNumber);
+    public Optional<WorkflowDefinition.Stage> getWorkflowUserForStage(String site, Integer stageNumber) {
+        return workflowDefinitionCache.get(site).getStage(stageNumber);
+    }
+
+    public int getStageCount(String site) {
+        return workflowDefinitionCache.get(site).getStageCount();
     }
 
     public String getNextPendingUserName(String site, Integer currentStageNumber) {
-        Optional<WfMaster> nextStage = wfMasterRepository.findWorkflowUserForStage(site, currentStageNumber + 1);
-        return nextStage.map(WfMaster::getUserEmail).orElse("No next stage");
+        Optional<WorkflowDefinition.Stage> nextStage = workflowDefinitionCache.get(site).getNextStage(currentStageNumber);
+        return nextStage.map(WorkflowDefinition.Stage::getUserEmail).orElse("No next stage");
     }
 
     public String getNextPendingStageName(String site, Integer currentStageNumber) {
-        Optional<WfMaster> nextStage = wfMasterRepository.findWorkflowUserForStage(site, currentStageNumber + 1);
-        return nextStage.map(WfMaster::getStageName).orElse("No next stage");
+        Optional<WorkflowDefinition.Stage> nextStage = workflowDefinitionCache.get(site).getNextStage(currentStageNumber);
+        return nextStage.map(WorkflowDefinition.Stage::getStageName).orElse("No next stage");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.dto.StageDwellSummary;
+import com.company.opexhub.entity.StageDwellStats;
+import com.company.opexhub.entity.WorkflowTransaction;
+import com.company.opexhub.repository.StageDwellStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class WorkflowAnalyticsService {
+
+    @Autowired
+    private StageDwellStatsRepository stageDwellStatsRepository;
+
+    @Value("${workflow.analytics.sla-hours:72}")
+    private long slaHours;
+
+    // Called by the outbox dispatcher, which applies stage actions one at a time
+    public void recordStageAction(WorkflowTransaction transaction) {
+        LocalDateTime enteredInbox = transaction.getPendingSince() != null
+                ? transaction.getPendingSince() : transaction.getCreatedAt();
+        if (enteredInbox == null || transaction.getActionDate() == null) {
+            return;
+        }
+        long dwellSeconds = Math.max(0, Duration.between(enteredInbox, transaction.getActionDate()).getSeconds());
+
+        StageDwellStats stats = stageDwellStatsRepository
+                .findBySiteAndStageNumber(transaction.getSite(), transaction.getStageNumber())
+                .orElseGet(() -> stageDwellStatsRepository.save(new StageDwellStats(
+                        transaction.getSite(), transaction.getStageNumber(), transaction.getStageName())));
+        stats.record(dwellSeconds, slaHours * 3600);
+    }
+
+    public List<StageDwellSummary> getStageDwell(String site) {
+        List<StageDwellStats> stats = site != null
+                ? stageDwellStatsRepository.findBySiteOrderByStageNumber(site)
+                : stageDwellStatsRepository.findAllByOrderBySiteAscStageNumberAsc();
+        return stats.stream().map(this::toSummary).collect(Collectors.toList());
+    }
+
+    // Slowest stages first, ranked by p90 dwell time
+    public List<StageDwellSummary> getBottlenecks(String site, int limit) {
+        return getStageDwell(site).stream()
+                .sorted(Comparator.comparing(StageDwellSummary::getP90Seconds).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private StageDwellSummary toSummary(StageDwellStats stats) {
+        DwellTimeSketch sketch = stats.getDecodedSketch();
+        StageDwellSummary summary = new StageDwellSummary();
+        summary.setSite(stats.getSite());
+        summary.setStageNumber(stats.getStageNumber());
+        summary.setStageName(stats.getStageName());
+        summary.setCount(stats.getSampleCount());
+        summary.setAverageSeconds(stats.getSampleCount() > 0 ? stats.getTotalSeconds() / stats.getSampleCount() : 0);
+        summary.setMaxSeconds(stats.getMaxSeconds());
+        summary.setP50Seconds(Math.round(sketch.quantile(0.50)));
+        summary.setP90Seconds(Math.round(sketch.quantile(0.90)));
+        summary.setP99Seconds(Math.round(sketch.quantile(0.99)));
+        summary.setSlaBreachCount(stats.getSlaBreachCount());
+        return summary;
+    }
+}
@@ -0,0 +1,142 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.entity.WfMaster;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of the active wf_master configuration for one site, compiled into a
+ * transition table keyed by stage number. Instances are built by {@link WorkflowDefinitionCache}
+ * and shared across requests.
+ */
+public final class WorkflowDefinition {
+
+    private final String site;
+    private final List<Stage> stages;
+    private final Map<Integer, Stage> stagesByNumber;
+    private final Map<Integer, Transition> transitions;
+
+    WorkflowDefinition(String site, List<WfMaster> wfStages) {
+        List<Stage> stageList = new ArrayList<>();
+        Map<Integer, Stage> byNumber = new LinkedHashMap<>();
+        for (WfMaster wfStage : wfStages) {
+            Stage stage = new Stage(wfStage.getStageNumber(), wfStage.getStageName(),
+                    wfStage.getRoleCode(), wfStage.getUserEmail());
+            stageList.add(stage);
+            byNumber.put(stage.getStageNumber(), stage);
+        }
+        this.site = site;
+        this.stages = Collections.unmodifiableList(stageList);
+        this.stagesByNumber = Collections.unmodifiableMap(byNumber);
+        this.transitions = Collections.unmodifiableMap(compileTransitions(stageList));
+    }
+
+    // Stages without a configured user are assigned when the stage before the run is approved
+    // (e.g. the Engineering Head picks the Initiative Lead for stages 4-6). Approving that stage
+    // creates the whole run, approving a stage inside the run activates the next one, and any
+    // other approval creates the next configured stage.
+    private static Map<Integer, Transition> compileTransitions(List<Stage> stageList) {
+        Map<Integer, Transition> compiled = new LinkedHashMap<>();
+        for (int i = 0; i < stageList.size(); i++) {
+            Stage stage = stageList.get(i);
+            if (i + 1 == stageList.size()) {
+                compiled.put(stage.getStageNumber(), new Transition(null, Collections.emptyList(), null, false));
+                continue;
+            }
+
+            Stage next = stageList.get(i + 1);
+            if (!next.isAssignedAtRuntime()) {
+                compiled.put(stage.getStageNumber(),
+                        new Transition(next, Collections.singletonList(next), null, false));
+            } else if (stage.isAssignedAtRuntime()) {
+                compiled.put(stage.getStageNumber(), new Transition(next, Collections.emptyList(), next, false));
+            } else {
+                List<Stage> branch = new ArrayList<>();
+                for (int j = i + 1; j < stageList.size() && stageList.get(j).isAssignedAtRuntime(); j++) {
+                    branch.add(stageList.get(j));
+                }
+                compiled.put(stage.getStageNumber(),
+                        new Transition(next, Collections.unmodifiableList(branch), null, true));
+            }
+        }
+        return compiled;
+    }
+
+    public String getSite() { return site; }
+
+    public List<Stage> getStages() { return stages; }
+
+    public Optional<Stage> getStage(Integer stageNumber) {
+        return Optional.ofNullable(stagesByNumber.get(stageNumber));
+    }
+
+    public Optional<Stage> getNextStage(Integer currentStageNumber) {
+        Transition transition = transitions.get(currentStageNumber);
+        return transition != null ? Optional.ofNullable(transition.getNextStage()) : getStage(currentStageNumber + 1);
+    }
+
+    public Optional<Transition> getTransition(Integer stageNumber) {
+        return Optional.ofNullable(transitions.get(stageNumber));
+    }
+
+    public int getStageCount() { return stages.size(); }
+
+    public boolean isEmpty() { return stages.isEmpty(); }
+
+    public static final class Stage {
+        private final Integer stageNumber;
+        private final String stageName;
+        private final String roleCode;
+        private final String userEmail;
+
+        Stage(Integer stageNumber, String stageName, String roleCode, String userEmail) {
+            this.stageNumber = stageNumber;
+            this.stageName = stageName;
+            this.roleCode = roleCode;
+            this.userEmail = userEmail;
+        }
+
+        public Integer getStageNumber() { return stageNumber; }
+
+        public String getStageName() { return stageName; }
+
+        public String getRoleCode() { return roleCode; }
+
+        public String getUserEmail() { return userEmail; }
+
+        public boolean isAssignedAtRuntime() { return userEmail == null; }
+    }
+
+    /**
+     * What approving a stage does: create the listed stages (the first one pending, the rest
+     * not_started), or activate the next stage that was already created as not_started.
+     */
+    public static final class Transition {
+        private final Stage nextStage;
+        private final List<Stage> stagesToCreate;
+        private final Stage stageToActivate;
+        private final boolean requiresAssignee;
+
+        Transition(Stage nextStage, List<Stage> stagesToCreate, Stage stageToActivate, boolean requiresAssignee) {
+            this.nextStage = nextStage;
+            this.stagesToCreate = stagesToCreate;
+            this.stageToActivate = stageToActivate;
+            this.requiresAssignee = requiresAssignee;
+        }
+
+        public Stage getNextStage() { return nextStage; }
+
+        public List<Stage> getStagesToCreate() { return stagesToCreate; }
+
+        public Stage getStageToActivate() { return stageToActivate; }
+
+        public boolean isRequiresAssignee() { return requiresAssignee; }
+
+        public boolean isFinal() { return nextStage == null; }
+    }
+}
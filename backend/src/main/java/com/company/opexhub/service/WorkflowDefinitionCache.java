@@ -0,0 +1,47 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.repository.WfMasterRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-site cache of {@link WorkflowDefinition} snapshots. A site is loaded from wf_master on
+ * first use and evicted whenever a WfMaster row for that site is written (see {@link WfMasterChangeListener}).
+ */
+@Component
+public class WorkflowDefinitionCache {
+
+    @Autowired
+    private WfMasterRepository wfMasterRepository;
+
+    private final ConcurrentMap<String, WorkflowDefinition> definitions = new ConcurrentHashMap<>();
+
+    public WorkflowDefinition get(String site) {
+        return definitions.computeIfAbsent(site, key ->
+                new WorkflowDefinition(key, wfMasterRepository.findBySiteAndIsActiveOrderByStageNumber(key, true)));
+    }
+
+    public void invalidate(String site) {
+        definitions.remove(site);
+
+        // A snapshot loaded before the writing transaction finishes may hold uncommitted
+        // (or rolled back) rows, so evict again once the outcome is known.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    definitions.remove(site);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        definitions.clear();
+    }
+}
@@ -0,0 +1,144 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.entity.WorkflowEscalation;
+import com.company.opexhub.entity.WorkflowTransaction;
+import com.company.opexhub.repository.WorkflowEscalationRepository;
+import com.company.opexhub.repository.WorkflowTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Escalates stages that stay pending past the SLA. One timer per pending transaction lives in a
+ * {@link HashedTimingWheel}: it is armed when the stage enters an inbox and cancelled when it is
+ * actioned, both driven by {@link WorkflowInboxEvent}s after commit, so workflow_transactions is
+ * only scanned once, on startup.
+ */
+@Service
+public class WorkflowEscalationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowEscalationService.class);
+
+    @Autowired
+    private WorkflowTransactionRepository workflowTransactionRepository;
+
+    @Autowired
+    private WorkflowEscalationRepository workflowEscalationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${workflow.escalation.sla-hours:${workflow.analytics.sla-hours:72}}")
+    private long slaHours;
+
+    @Value("${workflow.escalation.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${workflow.escalation.wheel-size:512}")
+    private int wheelSize;
+
+    // Email the overdue stage is re-routed to; left empty, escalations are only recorded
+    @Value("${workflow.escalation.reroute-to:}")
+    private String rerouteTo;
+
+    private HashedTimingWheel<Long> timers;
+
+    private ExecutorService escalator;
+
+    @PostConstruct
+    public void start() {
+        // The wheel thread only collects expired keys; the database work runs on its own thread
+        escalator = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("workflow-escalation-"));
+        timers = new HashedTimingWheel<>(tickMs, wheelSize, transactionId -> escalator.execute(() -> escalate(transactionId)));
+        timers.start("workflow-escalation-wheel");
+    }
+
+    @PreDestroy
+    public void stop() {
+        timers.stop();
+        escalator.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildTimers() {
+        List<Object[]> pending = workflowTransactionRepository.findPendingSince();
+        LocalDateTime now = LocalDateTime.now();
+        for (Object[] row : pending) {
+            Long transactionId = (Long) row[0];
+            LocalDateTime pendingSince = row[1] != null ? (LocalDateTime) row[1] : now;
+            long delayMillis = Duration.between(now, pendingSince.plusHours(slaHours)).toMillis();
+            timers.schedule(transactionId, Math.max(0, delayMillis));
+        }
+        logger.info("Armed {} workflow escalation timers", pending.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInboxEvent(WorkflowInboxEvent event) {
+        if ("added".equals(event.getType())) {
+            timers.schedule(event.getTransactionId(), Duration.ofHours(slaHours).toMillis());
+        } else if ("removed".equals(event.getType())) {
+            timers.cancel(event.getTransactionId());
+        }
+    }
+
+    public int getArmedTimerCount() {
+        return timers.size();
+    }
+
+    public List<WorkflowEscalation> getRecentEscalations(String site, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return site != null
+                ? workflowEscalationRepository.findBySiteOrderByEscalatedAtDesc(site, page)
+                : workflowEscalationRepository.findAllByOrderByEscalatedAtDesc(page);
+    }
+
+    void escalate(Long transactionId) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                WorkflowTransaction transaction = workflowTransactionRepository.findById(transactionId).orElse(null);
+                // Actioned while the timer was in flight
+                if (transaction == null || !"pending".equals(transaction.getApproveStatus())) {
+                    return;
+                }
+
+                WorkflowEscalation escalation = new WorkflowEscalation(transaction);
+                String previousPendingWith = transaction.getPendingWith();
+                if (StringUtils.hasText(rerouteTo) && !rerouteTo.equals(previousPendingWith)
+                        && workflowTransactionRepository.reroutePendingStage(
+                                transactionId, previousPendingWith, rerouteTo, LocalDateTime.now()) == 1) {
+                    escalation.setReroutedTo(rerouteTo);
+                    transaction.setPendingWith(rerouteTo);
+                    // The "added" delta also re-arms the timer for the new assignee
+                    eventPublisher.publishEvent(WorkflowInboxEvent.removed(transaction, previousPendingWith));
+                    eventPublisher.publishEvent(WorkflowInboxEvent.added(transaction));
+                }
+                workflowEscalationRepository.save(escalation);
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Escalation of workflow transaction {} failed", transactionId, e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.dto.WorkflowStageState;
+import com.company.opexhub.entity.Initiative;
+import com.company.opexhub.entity.WorkflowEvent;
+import com.company.opexhub.entity.WorkflowSnapshot;
+import com.company.opexhub.entity.WorkflowTransaction;
+import com.company.opexhub.repository.WorkflowEventRepository;
+import com.company.opexhub.repository.WorkflowSnapshotRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Writes the append-only workflow event log and rebuilds stage state from it. Every
+ * {@code snapshot-interval} events an initiative's folded state is stored as a snapshot.
+ */
+@Service
+public class WorkflowEventService {
+
+    @Autowired
+    private WorkflowEventRepository workflowEventRepository;
+
+    @Autowired
+    private WorkflowSnapshotRepository workflowSnapshotRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${workflow.events.snapshot-interval:20}")
+    private int snapshotInterval;
+
+    // Must be called inside the transaction that changed the stage, with the initiative loaded
+    public void record(Initiative initiative, String eventType, WorkflowTransaction transaction) {
+        WorkflowEvent event = new WorkflowEvent(eventType, transaction);
+        event.setSequenceNumber(initiative.nextWorkflowEventSequence());
+        workflowEventRepository.save(event);
+
+        if (event.getSequenceNumber() % snapshotInterval == 0) {
+            takeSnapshot(initiative.getId());
+        }
+    }
+
+    public List<WorkflowEvent> getHistory(Long initiativeId) {
+        return workflowEventRepository.findByInitiativeIdOrderBySequenceNumber(initiativeId);
+    }
+
+    public List<WorkflowStageState> replay(Long initiativeId) {
+        Map<Integer, WorkflowStageState> states = new TreeMap<>();
+        long fromSequence = 0;
+
+        Optional<WorkflowSnapshot> snapshot = workflowSnapshotRepository
+                .findFirstByInitiativeIdOrderBySequenceNumberDesc(initiativeId);
+        if (snapshot.isPresent()) {
+            for (WorkflowStageState state : readState(snapshot.get().getState())) {
+                states.put(state.getStageNumber(), state);
+            }
+            fromSequence = snapshot.get().getSequenceNumber();
+        }
+
+        for (WorkflowEvent event : workflowEventRepository
+                .findByInitiativeIdAndSequenceNumberGreaterThanOrderBySequenceNumber(initiativeId, fromSequence)) {
+            apply(states.computeIfAbsent(event.getStageNumber(), WorkflowStageState::new), event);
+        }
+        return new ArrayList<>(states.values());
+    }
+
+    private void takeSnapshot(Long initiativeId) {
+        // The replay query flushes the events queued in this transaction first
+        List<WorkflowStageState> states = replay(initiativeId);
+        long sequenceNumber = states.stream()
+                .mapToLong(WorkflowStageState::getLastSequenceNumber)
+                .max()
+                .orElse(0);
+        workflowSnapshotRepository.save(new WorkflowSnapshot(initiativeId, sequenceNumber, writeState(states)));
+    }
+
+    private void apply(WorkflowStageState state, WorkflowEvent event) {
+        if (event.getStageName() != null) {
+            state.setStageName(event.getStageName());
+        }
+        if (event.getAssignedUserId() != null) {
+            state.setAssignedUserId(event.getAssignedUserId());
+        }
+        state.setApproveStatus(event.getApproveStatus());
+        state.setPendingWith(event.getPendingWith());
+        if (event.getActionBy() != null) {
+            state.setActionBy(event.getActionBy());
+            state.setComment(event.getComment());
+            state.setActionDate(event.getActionDate());
+        }
+        state.setLastSequenceNumber(event.getSequenceNumber());
+    }
+
+    private List<WorkflowStageState> readState(String json) {
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<WorkflowStageState>>() {});
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not read workflow snapshot", e);
+        }
+    }
+
+    private String writeState(List<WorkflowStageState> states) {
+        try {
+            return objectMapper.writeValueAsString(states);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not write workflow snapshot", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.entity.WorkflowTransaction;
+
+/**
+ * An inbox delta for the user a stage is pending with: "added" when the stage becomes pending,
+ * "removed" once it has been actioned. Published inside the workflow transaction and delivered
+ * to stream subscribers after commit by {@link WorkflowInboxStreamService}.
+ */
+public class WorkflowInboxEvent {
+    private final String type;
+    private final Long transactionId;
+    private final Long initiativeId;
+    private final Integer stageNumber;
+    private final String stageName;
+    private final String site;
+    private final String pendingWith;
+
+    public WorkflowInboxEvent(String type, WorkflowTransaction transaction, String pendingWith) {
+        this.type = type;
+        this.transactionId = transaction.getId();
+        this.initiativeId = transaction.getInitiativeId();
+        this.stageNumber = transaction.getStageNumber();
+        this.stageName = transaction.getStageName();
+        this.site = transaction.getSite();
+        this.pendingWith = pendingWith;
+    }
+
+    public static WorkflowInboxEvent added(WorkflowTransaction transaction) {
+        return new WorkflowInboxEvent("added", transaction, transaction.getPendingWith());
+    }
+
+    public static WorkflowInboxEvent removed(WorkflowTransaction transaction, String previousPendingWith) {
+        return new WorkflowInboxEvent("removed", transaction, previousPendingWith);
+    }
+
+    public String getType() { return type; }
+
+    public Long getTransactionId() { return transactionId; }
+
+    public Long getInitiativeId() { return initiativeId; }
+
+    public Integer getStageNumber() { return stageNumber; }
+
+    public String getStageName() { return stageName; }
+
+    public String getSite() { return site; }
+
+    public String getPendingWith() { return pendingWith; }
+}
@@ -0,0 +1,173 @@
+package com.company.opexhub.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes approver inbox deltas to Server-Sent Event subscribers, keyed on pendingWith (the
+ * user's email) and optionally filtered by site. Each connection buffers at most
+ * {@code workflow.stream.buffer-size} undelivered events; on overflow the buffer is dropped
+ * and the client is told to resync instead. Idle connections hold no thread.
+ */
+@Service
+public class WorkflowInboxStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowInboxStreamService.class);
+
+    @Value("${workflow.stream.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${workflow.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${workflow.stream.sender-threads:2}")
+    private int senderThreads;
+
+    private final ConcurrentMap<String, Set<InboxConnection>> connectionsByUser = new ConcurrentHashMap<>();
+
+    private ExecutorService sender;
+
+    @PostConstruct
+    public void start() {
+        sender = Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("inbox-stream-"));
+    }
+
+    @PreDestroy
+    public void stop() {
+        sender.shutdownNow();
+    }
+
+    public SseEmitter subscribe(String userEmail, String site) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        InboxConnection connection = new InboxConnection(emitter, site, bufferSize);
+
+        connectionsByUser.computeIfAbsent(userEmail, key -> ConcurrentHashMap.newKeySet()).add(connection);
+        emitter.onCompletion(() -> unsubscribe(userEmail, connection));
+        emitter.onTimeout(() -> unsubscribe(userEmail, connection));
+        emitter.onError(e -> unsubscribe(userEmail, connection));
+
+        // Commits the response right away instead of on the first delta
+        try {
+            emitter.send(SseEmitter.event().name("connected").data(""));
+        } catch (IOException e) {
+            unsubscribe(userEmail, connection);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInboxEvent(WorkflowInboxEvent event) {
+        if (event.getPendingWith() == null) {
+            return;
+        }
+        Set<InboxConnection> connections = connectionsByUser.get(event.getPendingWith());
+        if (connections == null) {
+            return;
+        }
+        for (InboxConnection connection : connections) {
+            if (connection.site == null || connection.site.equals(event.getSite())) {
+                connection.enqueue(event);
+                scheduleFlush(connection);
+            }
+        }
+    }
+
+    // Keeps proxies from closing idle streams and surfaces dead connections
+    @Scheduled(fixedDelayString = "${workflow.stream.heartbeat-interval-ms:25000}")
+    public void sendHeartbeats() {
+        for (Set<InboxConnection> connections : connectionsByUser.values()) {
+            for (InboxConnection connection : connections) {
+                connection.heartbeatDue = true;
+                scheduleFlush(connection);
+            }
+        }
+    }
+
+    private void scheduleFlush(InboxConnection connection) {
+        // At most one flush per connection is queued on the sender pool at a time
+        if (connection.flushScheduled.compareAndSet(false, true)) {
+            sender.execute(() -> flush(connection));
+        }
+    }
+
+    private void flush(InboxConnection connection) {
+        try {
+            if (connection.overflowed.getAndSet(false)) {
+                connection.emitter.send(SseEmitter.event().name("resync").data(""));
+            }
+            WorkflowInboxEvent event;
+            while ((event = connection.buffer.poll()) != null) {
+                connection.emitter.send(SseEmitter.event().name("inbox").data(event, MediaType.APPLICATION_JSON));
+            }
+            if (connection.heartbeatDue) {
+                connection.heartbeatDue = false;
+                connection.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Inbox stream closed: {}", e.getMessage());
+            connection.flushScheduled.set(false);
+            connection.emitter.completeWithError(e);
+            return;
+        }
+        // Cleared only after draining, so this is the connection's only writer. Whatever arrived
+        // after the drain found a flush still scheduled and did not schedule its own, so check again
+        connection.flushScheduled.set(false);
+        if (connection.hasPendingWork()) {
+            scheduleFlush(connection);
+        }
+    }
+
+    private void unsubscribe(String userEmail, InboxConnection connection) {
+        connectionsByUser.computeIfPresent(userEmail, (key, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    private static final class InboxConnection {
+        private final SseEmitter emitter;
+        private final String site;
+        private final ArrayBlockingQueue<WorkflowInboxEvent> buffer;
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+
+        InboxConnection(SseEmitter emitter, String site, int bufferSize) {
+            this.emitter = emitter;
+            this.site = site;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        boolean hasPendingWork() {
+            return !buffer.isEmpty() || overflowed.get() || heartbeatDue;
+        }
+
+        void enqueue(WorkflowInboxEvent event) {
+            if (!buffer.offer(event)) {
+                // Slow client: drop what is buffered and let it refetch its inbox
+                buffer.clear();
+                overflowed.set(true);
+            }
+        }
+    }
+}
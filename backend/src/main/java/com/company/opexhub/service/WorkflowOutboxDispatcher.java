@@ -0,0 +1,115 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.entity.WorkflowOutboxEvent;
+import com.company.opexhub.repository.WorkflowOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Drains workflow_outbox in batches: next-stage fan-out, progress rollups, initiative status and
+ * the workflow event log are applied here rather than in the approver's request. Throughput is
+ * throttled with workflow.outbox.batch-size and workflow.outbox.poll-interval-ms. The approval has
+ * already committed when its event runs, so a failing event is never dropped: it is retried with
+ * exponential backoff, from workflow.outbox.retry-backoff-ms up to workflow.outbox.max-backoff-ms.
+ */
+@Component
+public class WorkflowOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowOutboxDispatcher.class);
+
+    @Autowired
+    private WorkflowOutboxRepository workflowOutboxRepository;
+
+    @Autowired
+    private WorkflowTransactionService workflowTransactionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${workflow.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${workflow.outbox.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${workflow.outbox.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    @Scheduled(fixedDelayString = "${workflow.outbox.poll-interval-ms:500}")
+    public void dispatch() {
+        // Keep going while full batches come back so a backlog drains without waiting for the next poll
+        while (dispatchBatch() == batchSize) {
+            logger.debug("Workflow outbox batch full, draining next batch");
+        }
+    }
+
+    public int dispatchBatch() {
+        List<WorkflowOutboxEvent> batch = workflowOutboxRepository
+                .findByStatusAndNextAttemptAtLessThanEqualOrderById("pending", LocalDateTime.now(),
+                        PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            // One transaction per batch so the resulting inserts and updates are flushed as JDBC batches
+            transactionTemplate.execute(status -> {
+                for (WorkflowOutboxEvent event : batch) {
+                    workflowTransactionService.applyStageAction(event);
+                }
+                workflowOutboxRepository.deleteAllInBatch(batch);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // A failing event rolled the whole batch back, so replay it event by event
+            for (WorkflowOutboxEvent event : batch) {
+                try {
+                    transactionTemplate.execute(status -> {
+                        workflowTransactionService.applyStageAction(event);
+                        workflowOutboxRepository.deleteById(event.getId());
+                        return null;
+                    });
+                } catch (RuntimeException eventException) {
+                    LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(event.getAttempts()), ChronoUnit.MILLIS);
+                    logger.warn("Workflow outbox event {} failed (attempt {}), retrying at {}: {}", event.getId(),
+                            event.getAttempts() + 1, nextAttemptAt, eventException.getMessage());
+                    transactionTemplate.execute(status -> workflowOutboxRepository.recordFailure(
+                            event.getId(), eventException.getMessage(), nextAttemptAt));
+                }
+            }
+        }
+        return batch.size();
+    }
+
+    // Events still waiting to be applied after at least one failure, for the analytics endpoint
+    public List<WorkflowOutboxEvent> getRetryingEvents(int limit) {
+        return workflowOutboxRepository.findByStatusAndAttemptsGreaterThanOrderById("pending", 0,
+                PageRequest.of(0, limit));
+    }
+
+    // Skips the remaining backoff, e.g. once the cause of the failure has been fixed
+    @Transactional
+    public void retryNow(Long eventId) {
+        if (workflowOutboxRepository.retryNow(eventId, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Workflow outbox event not found");
+        }
+    }
+
+    private long backoff(int failedAttempts) {
+        long delay = retryBackoffMs << Math.min(failedAttempts, 20);
+        return Math.min(delay, maxBackoffMs);
+    }
+}
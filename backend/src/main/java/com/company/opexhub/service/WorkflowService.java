@@ -1,99 +1,81 @@
 package com.company.opexhub.service;
 
-import com.company.opexhub.entity.Initiative;
+import com.company.opexhub.dto.StageActionRequest;
+import com.company.opexhub.dto.WorkflowStageView;
 import com.company.opexhub.entity.User;
-import com.company.opexhub.entity.WorkflowStage;
-import com.company.opexhub.repository.InitiativeRepository;
+import com.company.opexhub.entity.WorkflowTransaction;
 import com.company.opexhub.repository.UserRepository;
-import com.company.opexhub.repository.WorkflowStageRepository;
+import com.company.opexhub.repository.WorkflowTransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Compatibility layer for the /api/workflow endpoints. Stages are served from and actioned
+ * through workflow_transactions, the single workflow model; stage ids are transaction ids.
+ */
 @Service
 public class WorkflowService {
 
     @Autowired
-    private WorkflowStageRepository workflowStageRepository;
+    private WorkflowTransactionRepository workflowTransactionRepository;
 
     @Autowired
-    private InitiativeRepository initiativeRepository;
+    private WorkflowTransactionService workflowTransactionService;
 
     @Autowired
-    private UserRepository userRepository;
-
-    public List<WorkflowStage> getWorkflowStages(Long initiativeId) {
-        return workflowStageRepository.findByInitiativeIdOrderByStageNumber(initiativeId);
-    }
+    private WorkflowDefinitionCache workflowDefinitionCache;
 
-    @Transactional
-    public WorkflowStage approveStage(Long stageId, String approverName, String comments) {
-        WorkflowStage stage = workflowStageRepository.findById(stageId)
-                .orElseThrow(() -> new RuntimeException("Workflow stage not found"));
+    @Autowired
+    private UserRepository userRepository;
 
-        if (!"pending".equals(stage.getStatus())) {
-            throw new RuntimeException("Stage is not pending approval");
+    public List<WorkflowStageView> getWorkflowStages(Long initiativeId) {
+        List<WorkflowTransaction> transactions = workflowTransactionRepository.findByInitiativeIdOrderByStageNumber(initiativeId);
+        if (transactions.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        stage.setStatus("approved");
-        stage.setApprovedBy(approverName);
-        stage.setApprovedAt(LocalDateTime.now());
-        stage.setComments(comments);
-
-        WorkflowStage savedStage = workflowStageRepository.save(stage);
-
-        // Update initiative current stage
-        Initiative initiative = stage.getInitiative();
-        initiative.setCurrentStage(stage.getStageNumber() + 1);
-        
-        // Check if this is the last stage
-        List<WorkflowStage> allStages = workflowStageRepository.findByInitiativeIdOrderByStageNumber(initiative.getId());
-        if (stage.getStageNumber().equals(allStages.size())) {
-            initiative.setStatus("Completed");
-        } else {
-            initiative.setStatus("In Progress");
+        Map<Integer, WorkflowTransaction> byStage = transactions.stream()
+                .collect(Collectors.toMap(WorkflowTransaction::getStageNumber, Function.identity()));
+        WorkflowDefinition definition = workflowDefinitionCache.get(transactions.get(0).getSite());
+
+        // Rows exist only for stages the workflow has reached; fill in the rest from wf_master
+        List<WorkflowStageView> stages = new ArrayList<>(definition.getStageCount());
+        for (WorkflowDefinition.Stage stage : definition.getStages()) {
+            WorkflowTransaction transaction = byStage.remove(stage.getStageNumber());
+            stages.add(transaction != null
+                    ? new WorkflowStageView(transaction)
+                    : new WorkflowStageView(initiativeId, stage.getStageNumber(), stage.getStageName(), stage.getRoleCode()));
         }
-        
-        initiativeRepository.save(initiative);
-
-        return savedStage;
+        byStage.values().forEach(transaction -> stages.add(new WorkflowStageView(transaction)));
+        return stages;
     }
 
-    @Transactional
-    public WorkflowStage rejectStage(Long stageId, String rejectorName, String comments) {
-        WorkflowStage stage = workflowStageRepository.findById(stageId)
-                .orElseThrow(() -> new RuntimeException("Workflow stage not found"));
-
-        if (!"pending".equals(stage.getStatus())) {
-            throw new RuntimeException("Stage is not pending approval");
-        }
-
-        stage.setStatus("rejected");
-        stage.setApprovedBy(rejectorName);
-        stage.setApprovedAt(LocalDateTime.now());
-        stage.setComments(comments);
-
-        WorkflowStage savedStage = workflowStageRepository.save(stage);
-
-        // Update initiative status to rejected
-        Initiative initiative = stage.getInitiative();
-        initiative.setStatus("Rejected");
-        initiativeRepository.save(initiative);
+    public WorkflowStageView approveStage(Long stageId, String approverName, String comments, Long assignedUserId) {
+        return new WorkflowStageView(workflowTransactionService.processStageAction(
+                new StageActionRequest(stageId, "approved", comments, assignedUserId), approverName));
+    }
 
-        return savedStage;
+    public WorkflowStageView rejectStage(Long stageId, String rejectorName, String comments) {
+        return new WorkflowStageView(workflowTransactionService.processStageAction(
+                new StageActionRequest(stageId, "rejected", comments, null), rejectorName));
     }
 
-    public List<WorkflowStage> getPendingApprovals(Long userId) {
+    public List<WorkflowStageView> getPendingApprovals(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        return workflowStageRepository.findPendingStagesByRole(user.getRole());
+
+        return getPendingStagesByRole(user.getRole());
     }
 
-    public List<WorkflowStage> getPendingStagesByRole(String role) {
-        return workflowStageRepository.findPendingStagesByRole(role);
+    public List<WorkflowStageView> getPendingStagesByRole(String role) {
+        return workflowTransactionRepository.findByApproveStatusAndRequiredRole("pending", role).stream()
+                .map(WorkflowStageView::new)
+                .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
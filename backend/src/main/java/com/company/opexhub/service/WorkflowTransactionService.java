@@ -2,20 +2,33 @@ package com.company.opexhub.service;
 
 import com.company.opexhub.entity.Initiative;
 import com.company.opexhub.entity.User;
+import com.company.opexhub.entity.WorkflowOutboxEvent;
 import com.company.opexhub.entity.WorkflowTransaction;
-import com.company.opexhub.entity.WfMaster;
+import com.company.opexhub.dto.StageActionRequest;
+import com.company.opexhub.dto.StageActionResult;
 import com.company.opexhub.dto.WorkflowTransactionDetailDTO;
 import com.company.opexhub.repository.InitiativeRepository;
 import com.company.opexhub.repository.UserRepository;
+import com.company.opexhub.repository.WorkflowOutboxRepository;
 import com.company.opexhub.repository.WorkflowTransactionRepository;
-import com.company.opexhub.repository.WfMasterRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,7 +44,28 @@ public class WorkflowTransactionService {
     private UserRepository userRepository;
 
     @Autowired
-    private WfMasterRepository wfMasterRepository;
+    private WorkflowDefinitionCache workflowDefinitionCache;
+
+    @Autowired
+    private WorkflowEventService workflowEventService;
+
+    @Autowired
+    private WorkflowOutboxRepository workflowOutboxRepository;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private WorkflowAnalyticsService workflowAnalyticsService;
+
+    @Autowired
+    private KpiRollupService kpiRollupService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${workflow.bulk.chunk-size:50}")
+    private int bulkChunkSize;
 
     public List<WorkflowTransaction> getWorkflowTransactions(Long initiativeId) {
         return workflowTransactionRepository.findByInitiativeIdOrderByStageNumber(initiativeId);
@@ -40,14 +74,58 @@ public class WorkflowTransactionService {
     public List<WorkflowTransactionDetailDTO> getVisibleWorkflowTransactions(Long initiativeId) {
         List<WorkflowTransaction> allTransactions = workflowTransactionRepository
                 .findByInitiativeIdOrderByStageNumber(initiativeId);
-        
-        return allTransactions.stream()
-                .map(this::convertToDetailDTO)
-                .filter(WorkflowTransactionDetailDTO::getIsVisible)
-                .collect(Collectors.toList());
+
+        if (allTransactions.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Load everything the DTOs need up front so the query count does not grow with the stage count:
+        // the site's workflow configuration comes from the cache, assigned and next-stage users are each fetched once.
+        WorkflowDefinition definition = workflowDefinitionCache.get(allTransactions.get(0).getSite());
+
+        Set<Long> assignedUserIds = allTransactions.stream()
+                .map(WorkflowTransaction::getAssignedUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> assignedUsersById = assignedUserIds.isEmpty() ? new HashMap<>() :
+                userRepository.findAllById(assignedUserIds).stream()
+                        .collect(Collectors.toMap(User::getId, user -> user));
+
+        Set<String> nextUserEmails = definition.getStages().stream()
+                .map(WorkflowDefinition.Stage::getUserEmail)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, String> userNamesByEmail = nextUserEmails.isEmpty() ? new HashMap<>() :
+                userRepository.findByEmailIn(nextUserEmails).stream()
+                        .collect(Collectors.toMap(User::getEmail, User::getFullName));
+
+        // Previous-stage statuses and runtime assignees come from the same result set
+        Map<Integer, String> statusByStage = new HashMap<>();
+        Map<Integer, Long> assigneeByStage = new HashMap<>();
+        for (WorkflowTransaction transaction : allTransactions) {
+            statusByStage.put(transaction.getStageNumber(), transaction.getApproveStatus());
+            if (transaction.getAssignedUserId() != null) {
+                assigneeByStage.put(transaction.getStageNumber(), transaction.getAssignedUserId());
+            }
+        }
+
+        List<WorkflowTransactionDetailDTO> visibleTransactions = new ArrayList<>();
+        for (WorkflowTransaction transaction : allTransactions) {
+            WorkflowTransactionDetailDTO dto = convertToDetailDTO(transaction, definition,
+                    assignedUsersById, userNamesByEmail, statusByStage, assigneeByStage);
+            if (dto.getIsVisible()) {
+                visibleTransactions.add(dto);
+            }
+        }
+        return visibleTransactions;
     }
     
-    private WorkflowTransactionDetailDTO convertToDetailDTO(WorkflowTransaction transaction) {
+    private WorkflowTransactionDetailDTO convertToDetailDTO(WorkflowTransaction transaction,
+                                                            WorkflowDefinition definition,
+                                                            Map<Long, User> assignedUsersById,
+                                                            Map<String, String> userNamesByEmail,
+                                                            Map<Integer, String> statusByStage,
+                                                            Map<Integer, Long> assigneeByStage) {
         WorkflowTransactionDetailDTO dto = new WorkflowTransactionDetailDTO();
         dto.setId(transaction.getId());
         dto.setInitiativeId(transaction.getInitiativeId());
@@ -65,53 +143,42 @@ public class WorkflowTransactionService {
         dto.setUpdatedAt(transaction.getUpdatedAt());
         
         // Get assigned user name if available
-        if (transaction.getAssignedUserId() != null) {
-            Optional<User> assignedUser = userRepository.findById(transaction.getAssignedUserId());
-            if (assignedUser.isPresent()) {
-                dto.setAssignedUserName(assignedUser.get().getFullName());
-            }
+        if (transaction.getAssignedUserId() != null && assignedUsersById.containsKey(transaction.getAssignedUserId())) {
+            dto.setAssignedUserName(assignedUsersById.get(transaction.getAssignedUserId()).getFullName());
         }
         
         // Set next stage information
-        setNextStageInfo(dto, transaction);
+        definition.getNextStage(transaction.getStageNumber()).ifPresent(nextStage -> {
+            dto.setNextStageName(nextStage.getStageName());
+            if (nextStage.isAssignedAtRuntime()) {
+                // Known once the branch has been created with its assigned user
+                User nextUser = assignedUsersById.get(assigneeByStage.get(nextStage.getStageNumber()));
+                if (nextUser != null) {
+                    dto.setNextUserEmail(nextUser.getEmail());
+                    dto.setNextUser(nextUser.getFullName());
+                }
+            } else {
+                dto.setNextUserEmail(nextStage.getUserEmail());
+                dto.setNextUser(userNamesByEmail.get(nextStage.getUserEmail()));
+            }
+        });
         
         // Determine visibility based on workflow progression
-        dto.setIsVisible(isStageVisible(transaction));
+        dto.setIsVisible(isStageVisible(transaction, statusByStage));
         
         return dto;
     }
     
-    private void setNextStageInfo(WorkflowTransactionDetailDTO dto, WorkflowTransaction transaction) {
-        Optional<WfMaster> nextStageConfig = wfMasterRepository
-                .findBySiteAndStageNumberAndIsActive(transaction.getSite(), 
-                    transaction.getStageNumber() + 1, true);
-                    
-        if (nextStageConfig.isPresent()) {
-            WfMaster nextStage = nextStageConfig.get();
-            dto.setNextStageName(nextStage.getStageName());
-            dto.setNextUserEmail(nextStage.getUserEmail());
-            
-            // Get next user name
-            Optional<User> nextUser = userRepository.findByEmail(nextStage.getUserEmail());
-            if (nextUser.isPresent()) {
-                dto.setNextUser(nextUser.get().getFullName());
-            }
-        }
-    }
-    
-    private boolean isStageVisible(WorkflowTransaction transaction) {
+    private boolean isStageVisible(WorkflowTransaction transaction, Map<Integer, String> statusByStage) {
         // Stage 1 is always visible (auto-approved)
         if (transaction.getStageNumber() == 1) {
             return true;
         }
         
         // Check if previous stage is approved
-        Optional<WorkflowTransaction> previousStage = workflowTransactionRepository
-                .findByInitiativeIdAndStageNumber(transaction.getInitiativeId(), 
-                    transaction.getStageNumber() - 1);
-                    
-        if (previousStage.isPresent()) {
-            String previousStatus = previousStage.get().getApproveStatus();
+        int previousStageNumber = transaction.getStageNumber() - 1;
+        if (statusByStage.containsKey(previousStageNumber)) {
+            String previousStatus = statusByStage.get(previousStageNumber);
             // Current stage is visible if previous stage is approved or if current stage is pending/approved
             return "approved".equals(previousStatus) || 
                    "pending".equals(transaction.getApproveStatus()) || 
@@ -129,128 +196,146 @@ public class WorkflowTransactionService {
         return workflowTransactionRepository.findPendingTransactionsBySiteAndRole(site, roleCode);
     }
 
+    public Page<WorkflowTransaction> getPendingInbox(String pendingWith, String site, Pageable pageable) {
+        if (site != null) {
+            return workflowTransactionRepository.findPendingTransactionsBySiteAndRole(site, pendingWith, pageable);
+        }
+        return workflowTransactionRepository.findPendingTransactionsByRole(pendingWith, pageable);
+    }
+
     @Transactional
     public void createInitialWorkflowTransactions(Initiative initiative) {
         // Get workflow configuration from wf_master table
-        List<WfMaster> workflowStages = wfMasterRepository.findBySiteAndIsActiveOrderByStageNumber(
-            initiative.getSite(), true);
+        WorkflowDefinition definition = workflowDefinitionCache.get(initiative.getSite());
 
-        if (workflowStages.isEmpty()) {
+        if (definition.isEmpty()) {
             throw new RuntimeException("No workflow configuration found for site: " + initiative.getSite());
         }
 
         // Only create Stage 1 initially - other stages will be created sequentially
-        for (WfMaster wfStage : workflowStages) {
-            if (wfStage.getStageNumber() == 1) {
-                WorkflowTransaction transaction = new WorkflowTransaction(
-                    initiative.getId(),
-                    wfStage.getStageNumber(),
-                    wfStage.getStageName(),
-                    initiative.getSite(),
-                    wfStage.getRoleCode(),
-                    wfStage.getUserEmail()
-                );
-
-                // First stage is auto-approved and creates Stage 2
-                transaction.setApproveStatus("approved");
-                transaction.setActionBy(initiative.getCreatedBy().getFullName());
-                transaction.setActionDate(LocalDateTime.now());
-                transaction.setComment("Initiative created and registered");
-                transaction.setPendingWith(null);
-                
-                workflowTransactionRepository.save(transaction);
-                
-                // Create Stage 2 as pending
-                createNextStage(initiative.getId(), 2);
-                break;
-            }
+        Optional<WorkflowDefinition.Stage> firstStage = definition.getStage(1);
+        if (firstStage.isPresent()) {
+            WorkflowDefinition.Stage wfStage = firstStage.get();
+            WorkflowTransaction transaction = new WorkflowTransaction(
+                initiative.getId(),
+                wfStage.getStageNumber(),
+                wfStage.getStageName(),
+                initiative.getSite(),
+                wfStage.getRoleCode(),
+                wfStage.getUserEmail()
+            );
+
+            // First stage is auto-approved and creates Stage 2
+            transaction.setApproveStatus("approved");
+            transaction.setActionBy(initiative.getCreatedBy().getFullName());
+            transaction.setActionDate(LocalDateTime.now());
+            transaction.setComment("Initiative created and registered");
+            transaction.setPendingWith(null);
+            
+            workflowTransactionRepository.save(transaction);
+            workflowEventService.record(initiative, "created", transaction);
+            initiative.recordStagesCreated(1);
+            initiative.recordStageApproved();
+
+            // Create Stage 2 as pending; both inserts go out in one batch at flush
+            definition.getTransition(wfStage.getStageNumber())
+                    .filter(transition -> !transition.isRequiresAssignee())
+                    .ifPresent(transition -> createStages(initiative, transition.getStagesToCreate(), null));
         }
     }
     
     @Transactional
-    private void createNextStage(Long initiativeId, Integer stageNumber) {
-        // Get the workflow configuration for the next stage
-        Initiative initiative = initiativeRepository.findById(initiativeId)
-                .orElseThrow(() -> new RuntimeException("Initiative not found"));
-                
-        Optional<WfMaster> nextStageConfig = wfMasterRepository
-                .findBySiteAndStageNumberAndIsActive(initiative.getSite(), stageNumber, true);
-                
-        if (nextStageConfig.isPresent()) {
-            WfMaster wfStage = nextStageConfig.get();
-            
-            // Check if transaction already exists
-            Optional<WorkflowTransaction> existingTransaction = workflowTransactionRepository
-                    .findByInitiativeIdAndStageNumber(initiativeId, stageNumber);
-                    
-            if (!existingTransaction.isPresent()) {
-                WorkflowTransaction transaction = new WorkflowTransaction(
-                    initiativeId,
-                    wfStage.getStageNumber(),
-                    wfStage.getStageName(),
-                    initiative.getSite(),
-                    wfStage.getRoleCode(),
-                    wfStage.getUserEmail()
-                );
-                
-                transaction.setApproveStatus("pending");
-                transaction.setPendingWith(wfStage.getUserEmail());
-                workflowTransactionRepository.save(transaction);
+    public WorkflowTransaction processStageAction(StageActionRequest request, String actionBy) {
+        Long transactionId = request.getTransactionId();
+        String action = request.getAction();
+        Long assignedUserId = request.getAssignedUserId();
+
+        // Read before the CAS clears it, so the inbox stream knows whose inbox the stage leaves
+        String previousPendingWith = workflowTransactionRepository.findPendingWithById(transactionId);
+
+        // Compare-and-set: only one concurrent approver can move the stage out of "pending"
+        int updated = workflowTransactionRepository.completePendingStage(
+                transactionId, action, actionBy, request.getComment(), assignedUserId, LocalDateTime.now());
+
+        if (updated == 0) {
+            if (!workflowTransactionRepository.existsById(transactionId)) {
+                throw new RuntimeException("Workflow transaction not found");
             }
+            throw new RuntimeException("Transaction is not pending");
         }
-    }
 
-    @Transactional
-    public WorkflowTransaction processStageAction(Long transactionId, String action, String comment, 
-                                                String actionBy, Long assignedUserId) {
-        WorkflowTransaction transaction = workflowTransactionRepository.findById(transactionId)
+        WorkflowTransaction savedTransaction = workflowTransactionRepository.findById(transactionId)
                 .orElseThrow(() -> new RuntimeException("Workflow transaction not found"));
+        applicationEventPublisher.publishEvent(WorkflowInboxEvent.removed(savedTransaction, previousPendingWith));
 
-        if (!"pending".equals(transaction.getApproveStatus())) {
-            throw new RuntimeException("Transaction is not pending");
+        // Reject approvals the dispatcher could not apply while the approver can still be told
+        if ("approved".equals(action)) {
+            Integer currentStageNumber = savedTransaction.getStageNumber();
+            WorkflowDefinition.Transition transition = workflowDefinitionCache.get(savedTransaction.getSite())
+                    .getTransition(currentStageNumber)
+                    .orElseThrow(() -> new RuntimeException("Stage " + currentStageNumber
+                            + " is not configured for site: " + savedTransaction.getSite()));
+            if (transition.isRequiresAssignee()) {
+                if (assignedUserId == null) {
+                    throw new RuntimeException("A user must be assigned to approve stage " + currentStageNumber);
+                }
+                if (!userRepository.existsById(assignedUserId)) {
+                    throw new RuntimeException("Assigned user not found");
+                }
+            }
         }
 
-        transaction.setApproveStatus(action); // "approved" or "rejected"
-        transaction.setActionBy(actionBy);
-        transaction.setActionDate(LocalDateTime.now());
-        transaction.setComment(comment);
-        transaction.setPendingWith(null);
+        // Next-stage fan-out, rollups and initiative status are applied by WorkflowOutboxDispatcher
+        WorkflowOutboxEvent outboxEvent = new WorkflowOutboxEvent(
+                transactionId, savedTransaction.getInitiativeId(), action, assignedUserId);
+        outboxEvent.setRequiresMoc(request.getRequiresMoc());
+        outboxEvent.setMocNumber(request.getMocNumber());
+        outboxEvent.setRequiresCapex(request.getRequiresCapex());
+        outboxEvent.setCapexNumber(request.getCapexNumber());
+        workflowOutboxRepository.save(outboxEvent);
 
-        // Store additional data based on stage
-        if (assignedUserId != null) {
-            transaction.setAssignedUserId(assignedUserId);
-        }
+        return savedTransaction;
+    }
 
-        WorkflowTransaction savedTransaction = workflowTransactionRepository.save(transaction);
+    // Called by WorkflowOutboxDispatcher inside its batch transaction
+    public void applyStageAction(WorkflowOutboxEvent event) {
+        WorkflowTransaction transaction = workflowTransactionRepository.findById(event.getTransactionId())
+                .orElseThrow(() -> new RuntimeException("Workflow transaction not found"));
 
         // Update initiative status and move to next stage if approved
-        Initiative initiative = initiativeRepository.findById(transaction.getInitiativeId())
+        Initiative initiative = initiativeRepository.findById(event.getInitiativeId())
                 .orElseThrow(() -> new RuntimeException("Initiative not found"));
+        KpiRollupService.Contribution before = KpiRollupService.Contribution.of(initiative);
 
-        if ("approved".equals(action)) {
+        workflowEventService.record(initiative, event.getAction(), transaction);
+        workflowAnalyticsService.recordStageAction(transaction);
+
+        if ("approved".equals(event.getAction())) {
             Integer currentStageNumber = transaction.getStageNumber();
-            
-            // Special handling for Stage 3 - Create and assign IL for stages 4, 5, 6
-            if (currentStageNumber == 3 && assignedUserId != null) {
-                createStagesWithAssignedIL(initiative.getId(), assignedUserId);
-            } else if (currentStageNumber >= 6) {
-                // After Stage 6, skip to Stage 7 (no stages 4,5,6 if no IL assignment)
-                createNextStage(initiative.getId(), 7);
+            initiative.recordStageApproved();
+            applyStageDecisions(initiative, event);
+
+            // The next step comes from the site's compiled transition table
+            WorkflowDefinition.Transition transition = workflowDefinitionCache.get(initiative.getSite())
+                    .getTransition(currentStageNumber)
+                    .orElseThrow(() -> new RuntimeException("Stage " + currentStageNumber
+                            + " is not configured for site: " + initiative.getSite()));
+
+            if (transition.isRequiresAssignee()) {
+                User assignedUser = userRepository.findById(event.getAssignedUserId())
+                        .orElseThrow(() -> new RuntimeException("Assigned user not found"));
+                createStages(initiative, transition.getStagesToCreate(), assignedUser);
+            } else if (transition.getStageToActivate() != null) {
+                activateStage(initiative, transition.getStageToActivate());
             } else {
-                // For other stages, create next stage dynamically
-                createNextStage(initiative.getId(), currentStageNumber + 1);
+                createStages(initiative, transition.getStagesToCreate(), null);
             }
-            
-            // Update initiative current stage
-            initiative.setCurrentStage(currentStageNumber + 1);
-            
-            // Check if this is the last stage
-            Integer totalStages = wfMasterRepository.findBySiteAndIsActiveOrderByStageNumber(
-                initiative.getSite(), true).size();
-            
-            if (currentStageNumber >= totalStages) {
+
+            if (transition.isFinal()) {
+                initiative.setCurrentStage(currentStageNumber + 1);
                 initiative.setStatus("Completed");
             } else {
+                initiative.setCurrentStage(transition.getNextStage().getStageNumber());
                 initiative.setStatus("In Progress");
             }
         } else {
@@ -258,85 +343,139 @@ public class WorkflowTransactionService {
             initiative.setStatus("Rejected");
         }
 
+        kpiRollupService.move(before, KpiRollupService.Contribution.of(initiative));
         initiativeRepository.save(initiative);
-        return savedTransaction;
     }
 
-    @Transactional
-    private void createStagesWithAssignedIL(Long initiativeId, Long assignedUserId) {
-        // Get the assigned user
-        User assignedUser = userRepository.findById(assignedUserId)
-                .orElseThrow(() -> new RuntimeException("Assigned user not found"));
-                
-        Initiative initiative = initiativeRepository.findById(initiativeId)
-                .orElseThrow(() -> new RuntimeException("Initiative not found"));
+    // MOC / CAPEX decisions are captured on the stage where the IL records them
+    private void applyStageDecisions(Initiative initiative, WorkflowOutboxEvent event) {
+        if (event.getRequiresMoc() != null) {
+            initiative.setRequiresMoc(event.getRequiresMoc());
+            initiative.setMocNumber(event.getRequiresMoc() ? event.getMocNumber() : null);
+        }
+        if (event.getRequiresCapex() != null) {
+            initiative.setRequiresCapex(event.getRequiresCapex());
+            initiative.setCapexNumber(event.getRequiresCapex() ? event.getCapexNumber() : null);
+        }
+    }
 
-        // Create IL stages 4, 5, 6 dynamically with the selected IL
-        String[][] ilStages = {
-            {"4", "MOC Stage", "IL"},
-            {"5", "CAPEX Stage", "IL"},
-            {"6", "Initiative Timeline Tracker", "IL"}
-        };
-        
-        for (String[] stageData : ilStages) {
-            int stageNumber = Integer.parseInt(stageData[0]);
-            String stageName = stageData[1];
-            String roleCode = stageData[2];
-            
-            // Check if transaction already exists
-            Optional<WorkflowTransaction> existingTransaction = workflowTransactionRepository
-                    .findByInitiativeIdAndStageNumber(initiativeId, stageNumber);
-                    
-            if (!existingTransaction.isPresent()) {
-                WorkflowTransaction transaction = new WorkflowTransaction(
-                    initiativeId,
-                    stageNumber,
-                    stageName,
-                    initiative.getSite(),
-                    roleCode,
-                    assignedUser.getEmail()  // Use assigned IL's email
-                );
-                
-                if (stageNumber == 4) {
-                    // Stage 4 is pending after Stage 3 approval
-                    transaction.setApproveStatus("pending");
-                    transaction.setPendingWith(assignedUser.getEmail());
-                } else {
-                    // Stages 5, 6 are not started yet
-                    transaction.setApproveStatus("not_started");
-                    transaction.setPendingWith(null);
-                }
-                
-                transaction.setAssignedUserId(assignedUserId);
-                workflowTransactionRepository.save(transaction);
-                
-                // Also create corresponding WfMaster entry dynamically
-                Optional<WfMaster> existingWfMaster = wfMasterRepository
-                        .findBySiteAndStageNumberAndIsActive(initiative.getSite(), stageNumber, true);
-                        
-                if (!existingWfMaster.isPresent()) {
-                    WfMaster wfMaster = new WfMaster(
-                        stageNumber,
-                        stageName,
-                        roleCode,
-                        initiative.getSite(),
-                        assignedUser.getEmail()
-                    );
-                    wfMasterRepository.save(wfMaster);
+    private void createStages(Initiative initiative, List<WorkflowDefinition.Stage> stages, User assignedUser) {
+        // The CAS above lets only one approval through, so these rows cannot exist yet; the
+        // (initiative_id, stage_number) unique constraint still guards against duplicates.
+        List<WorkflowTransaction> transactions = new ArrayList<>(stages.size());
+        for (WorkflowDefinition.Stage stage : stages) {
+            boolean firstStage = transactions.isEmpty();
+            String stageUser = stage.isAssignedAtRuntime() ? assignedUser.getEmail() : stage.getUserEmail();
+
+            WorkflowTransaction transaction = new WorkflowTransaction(
+                initiative.getId(),
+                stage.getStageNumber(),
+                stage.getStageName(),
+                initiative.getSite(),
+                stage.getRoleCode(),
+                firstStage ? stageUser : null
+            );
+            // Only the first stage of a branch is actionable; the rest wait for their predecessor
+            if (!firstStage) {
+                transaction.setApproveStatus("not_started");
+                transaction.setPendingSince(null);
+            }
+            if (stage.isAssignedAtRuntime()) {
+                transaction.setAssignedUserId(assignedUser.getId());
+            }
+            transactions.add(transaction);
+        }
+
+        workflowTransactionRepository.saveAll(transactions);
+        for (WorkflowTransaction transaction : transactions) {
+            workflowEventService.record(initiative, "created", transaction);
+        }
+        if (!transactions.isEmpty()) {
+            applicationEventPublisher.publishEvent(WorkflowInboxEvent.added(transactions.get(0)));
+        }
+        initiative.recordStagesCreated(transactions.size());
+    }
+
+    private void activateStage(Initiative initiative, WorkflowDefinition.Stage stage) {
+        int activated = workflowTransactionRepository.activateStage(
+                initiative.getId(), stage.getStageNumber(), stage.getUserEmail(), LocalDateTime.now());
+        if (activated == 0) {
+            throw new RuntimeException("Stage " + stage.getStageNumber() + " has not been created for this initiative");
+        }
+
+        workflowTransactionRepository.findByInitiativeIdAndStageNumber(initiative.getId(), stage.getStageNumber())
+                .ifPresent(transaction -> {
+                    workflowEventService.record(initiative, "activated", transaction);
+                    applicationEventPublisher.publishEvent(WorkflowInboxEvent.added(transaction));
+                });
+    }
+
+    public List<StageActionResult> processStageActions(List<StageActionRequest> requests, String actionBy) {
+        StageActionResult[] results = new StageActionResult[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+
+        // Reject malformed items up front so they never roll back a chunk
+        for (int i = 0; i < requests.size(); i++) {
+            StageActionRequest request = requests.get(i);
+            if (request.getTransactionId() == null) {
+                results[i] = new StageActionResult(null, false, "Transaction id is required");
+            } else if (!"approved".equals(request.getAction()) && !"rejected".equals(request.getAction())) {
+                results[i] = new StageActionResult(request.getTransactionId(), false, "Action must be approved or rejected");
+            } else if (request.getComment() == null || request.getComment().trim().isEmpty()) {
+                results[i] = new StageActionResult(request.getTransactionId(), false, "Comment is required");
+            } else {
+                validIndexes.add(i);
+            }
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < validIndexes.size(); from += bulkChunkSize) {
+            List<Integer> chunk = validIndexes.subList(from, Math.min(from + bulkChunkSize, validIndexes.size()));
+            try {
+                // One transaction per chunk so the updates and inserts are flushed as JDBC batches
+                transactionTemplate.execute(status -> {
+                    for (Integer index : chunk) {
+                        results[index] = processBulkItem(requests.get(index), actionBy);
+                    }
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                // A failing item rolled the whole chunk back, so replay it item by item
+                for (Integer index : chunk) {
+                    StageActionRequest request = requests.get(index);
+                    try {
+                        results[index] = transactionTemplate.execute(status -> processBulkItem(request, actionBy));
+                    } catch (RuntimeException itemException) {
+                        results[index] = new StageActionResult(request.getTransactionId(), false, itemException.getMessage());
+                    }
                 }
             }
         }
+
+        List<StageActionResult> resultList = new ArrayList<>();
+        for (StageActionResult result : results) {
+            resultList.add(result);
+        }
+        return resultList;
+    }
+
+    private StageActionResult processBulkItem(StageActionRequest request, String actionBy) {
+        processStageAction(request, actionBy);
+        return new StageActionResult(request.getTransactionId(), true, "Stage " + request.getAction() + " successfully");
     }
 
     public Optional<WorkflowTransaction> getCurrentPendingStage(Long initiativeId) {
         return workflowTransactionRepository.findCurrentPendingStage(initiativeId);
     }
 
+    // False while the stage action's outbox event is still waiting for WorkflowOutboxDispatcher
+    public boolean isStageActionApplied(Long transactionId) {
+        return !workflowOutboxRepository.existsByTransactionId(transactionId);
+    }
+
     public Integer getProgressPercentage(Long initiativeId) {
-        Integer approvedStages = workflowTransactionRepository.countApprovedStages(initiativeId);
-        Integer totalStages = workflowTransactionRepository.countTotalStages(initiativeId);
-        
-        if (totalStages == 0) return 0;
-        return (approvedStages * 100) / totalStages;
+        // Kept up to date on the initiative row by every stage creation and approval
+        Integer progress = initiativeRepository.findProgressPercentageById(initiativeId);
+        return progress != null ? progress : 0;
     }
 }
\ No newline at end of file
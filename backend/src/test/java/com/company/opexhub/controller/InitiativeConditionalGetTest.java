@@ -0,0 +1,108 @@
+package com.company.opexhub.controller;
+
+import com.company.opexhub.dto.InitiativeRequest;
+import com.company.opexhub.entity.Comment;
+import com.company.opexhub.entity.Initiative;
+import com.company.opexhub.entity.User;
+import com.company.opexhub.repository.UserRepository;
+import com.company.opexhub.service.CommentService;
+import com.company.opexhub.service.InitiativeService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bytes on the wire for repeat loads of an initiative: a revalidation with the last ETag costs
+ * headers only until something the body embeds changes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class InitiativeConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InitiativeService initiativeService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void login() throws Exception {
+        user = userRepository.findByEmail("manoj.tiwari@godeepak.com")
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        MvcResult result = mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"manoj.tiwari@godeepak.com\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        token = body.path("data").path("token").asText();
+    }
+
+    @Test
+    void repeatLoadSendsNoBodyUntilACommentIsAdded() throws Exception {
+        InitiativeRequest request = new InitiativeRequest();
+        request.setTitle("Condensate recovery");
+        request.setPriority("High");
+        request.setExpectedSavings(new BigDecimal("125000"));
+        request.setSite("NDS");
+        request.setDiscipline("MECH");
+        Initiative initiative = initiativeService.createInitiative(request, user.getId());
+
+        MvcResult first = load(initiative.getId(), null);
+        assertThat(first.getResponse().getStatus()).isEqualTo(200);
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        assertThat(first.getResponse().getContentAsByteArray()).isNotEmpty();
+
+        MvcResult repeat = load(initiative.getId(), etag);
+        assertThat(repeat.getResponse().getStatus()).isEqualTo(304);
+        assertThat(repeat.getResponse().getContentAsByteArray()).isEmpty();
+        assertThat(repeat.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+
+        // Comments are part of the body but do not bump the initiative's version
+        commentService.createComment(new Comment("Steam trap survey booked", "general", 1, initiative, null), user.getId());
+
+        MvcResult afterComment = load(initiative.getId(), etag);
+        assertThat(afterComment.getResponse().getStatus()).isEqualTo(200);
+        assertThat(afterComment.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(afterComment.getResponse().getContentAsString()).contains("Steam trap survey booked");
+    }
+
+    private MvcResult load(Long id, String ifNoneMatch) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return mockMvc.perform(get("/api/initiatives/{id}", id).headers(headers)).andReturn();
+    }
+}
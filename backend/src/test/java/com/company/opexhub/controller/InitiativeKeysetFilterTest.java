@@ -0,0 +1,113 @@
+package com.company.opexhub.controller;
+
+import com.company.opexhub.dto.InitiativeRequest;
+import com.company.opexhub.entity.User;
+import com.company.opexhub.repository.UserRepository;
+import com.company.opexhub.service.InitiativeService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The keyset (cursor=) modes take the same filters as the paged list, across every page and in
+ * the total.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class InitiativeKeysetFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InitiativeService initiativeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void cursorPagesApplyEveryFilter() throws Exception {
+        User user = userRepository.findByEmail("manoj.tiwari@godeepak.com")
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        for (int i = 0; i < 12; i++) {
+            InitiativeRequest request = new InitiativeRequest();
+            request.setTitle("Insulation repair " + i);
+            request.setPriority(i % 2 == 0 ? "High" : "Low");
+            request.setExpectedSavings(new BigDecimal(10000 * (i + 1)));
+            request.setSite("NDS");
+            request.setDiscipline(i % 3 == 0 ? "KEYSET" : "CIVIL");
+            initiativeService.createInitiative(request, user.getId());
+        }
+        // i = 0, 6 are KEYSET and High; i = 6 is the only one of those with savings >= 50000
+        String token = login();
+
+        Set<Long> ids = new HashSet<>();
+        String cursor = "";
+        long total = 0;
+        do {
+            JsonNode page = keysetPage(token, cursor, null, "discipline", "KEYSET", "priority", "High");
+            for (JsonNode row : page.path("content")) {
+                assertThat(row.path("discipline").asText()).isEqualTo("KEYSET");
+                assertThat(row.path("priority").asText()).isEqualTo("High");
+                ids.add(row.path("id").asLong());
+            }
+            total = page.path("totalElements").asLong();
+            cursor = page.path("nextCursor").isNull() ? null : page.path("nextCursor").asText();
+        } while (cursor != null);
+        assertThat(ids).hasSize(2);
+        assertThat(total).isEqualTo(2);
+
+        JsonNode fields = keysetPage(token, "", "title,expectedSavings",
+                "discipline", "KEYSET", "priority", "High", "minSavings", "50000");
+        assertThat(fields.path("content")).hasSize(1);
+        assertThat(fields.path("content").get(0).path("title").asText()).isEqualTo("Insulation repair 6");
+        assertThat(fields.path("totalElements").asLong()).isEqualTo(1);
+    }
+
+    private JsonNode keysetPage(String token, String cursor, String fields, String... filters) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/initiatives")
+                .param("cursor", cursor)
+                .param("size", "1")
+                .param("includeTotal", "true")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        if (fields != null) {
+            request.param("fields", fields);
+        }
+        for (int i = 0; i < filters.length; i += 2) {
+            request.param(filters[i], filters[i + 1]);
+        }
+        MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private String login() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"manoj.tiwari@godeepak.com\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).path("data").path("token").asText();
+    }
+}
@@ -0,0 +1,112 @@
+package com.company.opexhub.controller;
+
+import com.company.opexhub.dto.InitiativeRequest;
+import com.company.opexhub.entity.Comment;
+import com.company.opexhub.entity.Initiative;
+import com.company.opexhub.entity.User;
+import com.company.opexhub.repository.UserRepository;
+import com.company.opexhub.service.CommentService;
+import com.company.opexhub.service.InitiativeService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/initiatives serves a projection: a page costs the same statements whatever its size,
+ * and the entity's comment and task collections are never loaded.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class InitiativeListQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InitiativeService initiativeService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void pageStatementCountDoesNotGrowWithPageSize() throws Exception {
+        User user = userRepository.findByEmail("manoj.tiwari@godeepak.com")
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        for (int i = 0; i < 30; i++) {
+            InitiativeRequest request = new InitiativeRequest();
+            request.setTitle("Leak survey " + i);
+            request.setDescription("Compressed air leak survey, area " + i);
+            request.setPriority("Low");
+            request.setExpectedSavings(new BigDecimal(1000 + i));
+            request.setSite("NDS");
+            request.setDiscipline("MECH");
+            Initiative initiative = initiativeService.createInitiative(request, user.getId());
+            commentService.createComment(new Comment("Survey scheduled", "general", 1, initiative, null), user.getId());
+        }
+        String token = login();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        JsonNode smallPage = list(token, 5);
+        long smallPageStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        JsonNode largePage = list(token, 30);
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        assertThat(smallPage.path("content")).hasSize(5);
+        assertThat(largePage.path("content")).hasSize(30);
+        // The signed-in user, the page and its count
+        assertThat(smallPageStatements).isBetween(1L, 3L);
+        assertThat(largePageStatements).isEqualTo(smallPageStatements);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(largePage.path("content").get(0).has("comments")).isFalse();
+        assertThat(largePage.path("content").get(0).path("createdByName").asText()).isEqualTo(user.getFullName());
+    }
+
+    private JsonNode list(String token, int size) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/initiatives")
+                        .param("size", String.valueOf(size))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private String login() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"manoj.tiwari@godeepak.com\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).path("data").path("token").asText();
+    }
+}
@@ -0,0 +1,73 @@
+package com.company.opexhub.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK_MILLIS = 1;
+    private static final int WHEEL_SIZE = 256;
+
+    @Test
+    void timersScheduledWhileTheWorkerScansTheirSlotFireOnTime() throws Exception {
+        Map<Long, Long> firedAt = new ConcurrentHashMap<>();
+        HashedTimingWheel<Long> wheel = new HashedTimingWheel<>(TICK_MILLIS, WHEEL_SIZE,
+                key -> firedAt.put(key, System.nanoTime()));
+        // Far-off timers in every slot make each scan slow, so new timers keep landing mid-scan
+        for (long key = -1; key >= -200000; key--) {
+            wheel.schedule(key, TimeUnit.HOURS.toMillis(1));
+        }
+        wheel.start("timing-wheel-test");
+
+        // Far more schedulers than cores, so one is often preempted between computing a deadline and
+        // handing its timer to the wheel while the worker moves on to that tick
+        int schedulers = 32;
+        int timersPerScheduler = 3000;
+        Map<Long, Long> scheduledAt = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(schedulers);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int s = 0; s < schedulers; s++) {
+                long firstKey = (long) s * timersPerScheduler;
+                results.add(executor.submit(() -> {
+                    for (long key = firstKey; key < firstKey + timersPerScheduler; key++) {
+                        wheel.schedule(key, TICK_MILLIS);
+                        scheduledAt.put(key, System.nanoTime());
+                        Thread.yield();
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (firedAt.size() < scheduledAt.size() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            executor.shutdownNow();
+            wheel.stop();
+        }
+
+        assertThat(firedAt.keySet()).containsAll(scheduledAt.keySet());
+        long maxLateMillis = scheduledAt.keySet().stream()
+                .mapToLong(key -> TimeUnit.NANOSECONDS.toMillis(firedAt.get(key) - scheduledAt.get(key)))
+                .max()
+                .orElse(0);
+        // A timer that missed its slot would only fire a whole revolution later; anything well short of
+        // that is just this thread or the worker waiting for a core
+        assertThat(maxLateMillis).isLessThan(WHEEL_SIZE * TICK_MILLIS * 3 / 4);
+    }
+}
@@ -0,0 +1,197 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.dto.InitiativeFilter;
+import com.company.opexhub.dto.InitiativeRequest;
+import com.company.opexhub.dto.KpiSummary;
+import com.company.opexhub.dto.StageActionRequest;
+import com.company.opexhub.entity.Comment;
+import com.company.opexhub.entity.Initiative;
+import com.company.opexhub.entity.KpiRollup;
+import com.company.opexhub.entity.MonthlyMonitoringEntry;
+import com.company.opexhub.entity.TimelineEntry;
+import com.company.opexhub.entity.TimelineTask;
+import com.company.opexhub.entity.User;
+import com.company.opexhub.entity.WorkflowTransaction;
+import com.company.opexhub.repository.KpiRollupRepository;
+import com.company.opexhub.repository.MonthlyMonitoringEntryRepository;
+import com.company.opexhub.repository.TimelineEntryRepository;
+import com.company.opexhub.repository.TimelineTaskRepository;
+import com.company.opexhub.repository.UserRepository;
+import com.company.opexhub.repository.WorkflowTransactionRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deleting initiatives costs the same statements however many are deleted, leaves nothing behind
+ * in the tables that reference them, and takes them out of the KPI rollups.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class InitiativeDeletionServiceTest {
+
+    private static final String[] CHILD_TABLES = {
+            "comments", "timeline_tasks", "timeline_entries", "monthly_monitoring_entries", "workflow_transactions",
+            "workflow_events", "workflow_snapshots", "workflow_escalations", "workflow_outbox"
+    };
+
+    @Autowired
+    private InitiativeDeletionService initiativeDeletionService;
+
+    @Autowired
+    private InitiativeService initiativeService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private WorkflowTransactionService workflowTransactionService;
+
+    @Autowired
+    private KpiService kpiService;
+
+    @Autowired
+    private KpiRollupRepository kpiRollupRepository;
+
+    @Autowired
+    private TimelineTaskRepository timelineTaskRepository;
+
+    @Autowired
+    private TimelineEntryRepository timelineEntryRepository;
+
+    @Autowired
+    private MonthlyMonitoringEntryRepository monthlyMonitoringEntryRepository;
+
+    @Autowired
+    private WorkflowTransactionRepository workflowTransactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void deletionIsSetBasedAndLeavesNoDependentRows() {
+        User user = userRepository.findByEmail("manoj.tiwari@godeepak.com")
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        List<Long> few = seed(3, user);
+        List<Long> many = seed(12, user);
+        List<Long> all = new ArrayList<>(few);
+        all.addAll(many);
+        for (String table : new String[] { "comments", "timeline_tasks", "timeline_entries",
+                "monthly_monitoring_entries", "workflow_transactions", "workflow_events", "workflow_outbox" }) {
+            assertThat(countReferencing(table, all)).as(table).isGreaterThanOrEqualTo(all.size());
+        }
+        assertThat(summaryCount()).isEqualTo(15);
+        assertThat(rollupCount()).isEqualTo(15);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertThat(initiativeDeletionService.deleteInitiatives(few)).containsExactlyInAnyOrderElementsOf(few);
+        long fewStatements = statistics.getPrepareStatementCount();
+
+        assertThat(summaryCount()).isEqualTo(12);
+        assertThat(rollupCount()).isEqualTo(12);
+
+        statistics.clear();
+        assertThat(initiativeDeletionService.deleteInitiatives(many)).containsExactlyInAnyOrderElementsOf(many);
+        long manyStatements = statistics.getPrepareStatementCount();
+
+        assertThat(manyStatements).isEqualTo(fewStatements);
+        for (String table : CHILD_TABLES) {
+            assertThat(countReferencing(table, all)).as(table).isZero();
+        }
+        assertThat(countReferencing("initiatives", "id", all)).isZero();
+        assertThat(summaryCount()).isZero();
+        assertThat(rollupCount()).isZero();
+        assertThat(rollupSavings()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    // Each initiative gets a comment, a task, a timeline entry, a monitoring entry, its workflow stages
+    // with their events, and an approval still waiting in the outbox
+    private List<Long> seed(int count, User user) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            InitiativeRequest request = new InitiativeRequest();
+            request.setTitle("Flare gas recovery " + i);
+            request.setPriority("High");
+            request.setExpectedSavings(new BigDecimal("25000"));
+            request.setSite("NDS");
+            request.setDiscipline("DELETE");
+            request.setStartDate(LocalDate.of(2025, 6, 1));
+            Initiative initiative = initiativeService.createInitiative(request, user.getId());
+            ids.add(initiative.getId());
+
+            commentService.createComment(new Comment("Scope agreed", "general", 1, initiative, null), user.getId());
+            timelineTaskRepository.save(new TimelineTask("Site survey", "Survey the flare header",
+                    LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 30), user.getFullName(), user.getFullName(),
+                    initiative));
+            timelineEntryRepository.save(new TimelineEntry(initiative, "Execution", LocalDate.of(2025, 7, 1),
+                    LocalDate.of(2025, 9, 30), user.getFullName()));
+            monthlyMonitoringEntryRepository.save(new MonthlyMonitoringEntry(initiative, YearMonth.of(2025, 7),
+                    "Flared gas", new BigDecimal("2000"), user.getFullName()));
+
+            WorkflowTransaction stage = workflowTransactionRepository.findByInitiativeIdOrderByStageNumber(initiative.getId())
+                    .stream()
+                    .filter(transaction -> "pending".equals(transaction.getApproveStatus()))
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError("No pending stage"));
+            StageActionRequest approval = new StageActionRequest();
+            approval.setTransactionId(stage.getId());
+            approval.setAction("approved");
+            approval.setComment("Approved");
+            approval.setAssignedUserId(user.getId());
+            workflowTransactionService.processStageAction(approval, stage.getPendingWith());
+        }
+        return ids;
+    }
+
+    private long countReferencing(String table, List<Long> ids) {
+        return countReferencing(table, "initiative_id", ids);
+    }
+
+    private long countReferencing(String table, String column, List<Long> ids) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + column + " IN (:ids)",
+                new MapSqlParameterSource("ids", ids), Long.class);
+        return count != null ? count : 0;
+    }
+
+    private long summaryCount() {
+        InitiativeFilter filter = new InitiativeFilter();
+        filter.setDiscipline("DELETE");
+        KpiSummary summary = kpiService.getSummary(filter);
+        return summary.getTotal().getCount();
+    }
+
+    private long rollupCount() {
+        return kpiRollupRepository.findAll().stream()
+                .filter(rollup -> "DELETE".equals(rollup.getDiscipline()))
+                .mapToLong(KpiRollup::getInitiativeCount)
+                .sum();
+    }
+
+    private BigDecimal rollupSavings() {
+        return kpiRollupRepository.findAll().stream()
+                .filter(rollup -> "DELETE".equals(rollup.getDiscipline()))
+                .map(KpiRollup::getExpectedSavings)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
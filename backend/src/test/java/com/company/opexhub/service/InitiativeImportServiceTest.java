@@ -0,0 +1,120 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.dto.InitiativeFilter;
+import com.company.opexhub.dto.InitiativeImportError;
+import com.company.opexhub.dto.InitiativeImportResult;
+import com.company.opexhub.dto.InitiativeRequest;
+import com.company.opexhub.dto.KpiSummary;
+import com.company.opexhub.entity.Initiative;
+import com.company.opexhub.entity.User;
+import com.company.opexhub.repository.UserRepository;
+import com.company.opexhub.repository.WorkflowTransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "initiatives.import.chunk-size=4")
+@ActiveProfiles("test")
+class InitiativeImportServiceTest {
+
+    // Line numbers are those of the file; the quoted description on line 2 runs onto line 3
+    private static final String CSV = String.join("\n",
+            "Title,Description,Priority,Expected Savings,Site,Discipline,Start Date",
+            "Import row 1,\"Two-line",
+            "description\",High,1000,NDS,IMPORT,2025-04-01",
+            "Import row 2,,Low,2000,NDS,IMPORT,2025-04-01",
+            "Import row 3,,Low,not-a-number,NDS,IMPORT,2025-04-01",
+            "Import row 4,,Medium,4000,NDS,IMPORT,2025-05-01",
+            // Passes parsing but not the entity's 10-character discipline, so its chunk is replayed
+            "Import row 5,,Medium,5000,NDS,IMPORTLONGER,2025-05-01",
+            "Import row 6,,High,6000,NDS,IMPORT,2025-05-01",
+            "",
+            "Import row 7,,High,7000,NDS,IMPORT,2025-06-01",
+            "Import row 8,,High,8000,NDS,IMPORT,2025-13-01",
+            "Import row 9,,High,9000,NOWHERE,IMPORT,2025-06-01",
+            "Import row 10,,Low,10000,NDS,IMPORT,2025-06-01",
+            "Import row 11,,Low,11000,NDS,IMPORT,2025-07-01",
+            "");
+
+    @Autowired
+    private InitiativeImportService initiativeImportService;
+
+    @Autowired
+    private InitiativeService initiativeService;
+
+    @Autowired
+    private KpiService kpiService;
+
+    @Autowired
+    private WorkflowTransactionRepository workflowTransactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importsValidRowsAroundFailingOnes() throws Exception {
+        User user = userRepository.findByEmail("manoj.tiwari@godeepak.com")
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        InitiativeImportResult result = initiativeImportService.importInitiatives(
+                new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)), user.getId());
+
+        assertThat(result.getRowsRead()).isEqualTo(11);
+        assertThat(result.getImported()).isEqualTo(7);
+        assertThat(result.getFailed()).isEqualTo(4);
+        assertThat(result.getErrors()).extracting(InitiativeImportError::getLine).containsExactly(5L, 7L, 11L, 12L);
+        assertThat(result.getErrors().get(0).getMessage()).contains("expectedSavings");
+        assertThat(result.getErrors().get(2).getMessage()).contains("startdate");
+        assertThat(result.getErrors().get(3).getMessage()).contains("NOWHERE");
+
+        List<String> titles = jdbcTemplate.queryForList(
+                "SELECT title FROM initiatives WHERE title LIKE 'Import row %'", String.class);
+        assertThat(titles).containsExactlyInAnyOrder("Import row 1", "Import row 2", "Import row 4",
+                "Import row 6", "Import row 7", "Import row 10", "Import row 11");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT description FROM initiatives WHERE title = 'Import row 1'", String.class))
+                .isEqualTo("Two-line\ndescription");
+
+        // Every imported initiative gets the same first stages as one created through the API
+        int expectedStages = workflowTransactionRepository
+                .findByInitiativeIdOrderByStageNumber(referenceInitiative(user).getId()).size();
+        List<Long> importedIds = jdbcTemplate.queryForList(
+                "SELECT id FROM initiatives WHERE title LIKE 'Import row %'", Long.class);
+        assertThat(importedIds.stream()
+                .map(id -> workflowTransactionRepository.findByInitiativeIdOrderByStageNumber(id).size())
+                .collect(Collectors.toList()))
+                .hasSize(7)
+                .containsOnly(expectedStages);
+        assertThat(expectedStages).isPositive();
+
+        // Only rows that were imported count towards the KPI rollups
+        InitiativeFilter filter = new InitiativeFilter();
+        filter.setDiscipline("IMPORT");
+        KpiSummary summary = kpiService.getSummary(filter);
+        assertThat(summary.getTotal().getCount()).isEqualTo(result.getImported());
+        assertThat(summary.getTotal().getExpectedSavings()).isEqualByComparingTo(new BigDecimal("41000"));
+    }
+
+    private Initiative referenceInitiative(User user) {
+        InitiativeRequest request = new InitiativeRequest();
+        request.setTitle("Stage count reference");
+        request.setPriority("Low");
+        request.setExpectedSavings(new BigDecimal("1"));
+        request.setSite("NDS");
+        request.setDiscipline("REFERENCE");
+        return initiativeService.createInitiative(request, user.getId());
+    }
+}
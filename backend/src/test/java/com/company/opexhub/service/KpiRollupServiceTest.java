@@ -0,0 +1,79 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.entity.Initiative;
+import com.company.opexhub.entity.KpiRollup;
+import com.company.opexhub.repository.KpiRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class KpiRollupServiceTest {
+
+    @Autowired
+    private KpiRollupService kpiRollupService;
+
+    @Autowired
+    private KpiRollupRepository kpiRollupRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentWritersCreatingTheSameUndatedBucketShareOneRow() throws Exception {
+        int writers = 8;
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return transactionTemplate.execute(status -> {
+                        kpiRollupService.add(KpiRollupService.Contribution.of(undatedInitiative()));
+                        return null;
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        KpiRollup rollup = transactionTemplate.execute(status ->
+                kpiRollupRepository.findBySiteAndDisciplineAndStatusAndPriorityAndStartMonth(
+                        "RACE", "MECH", "Pending", "High", KpiRollup.UNDATED)
+                        .orElseThrow(() -> new AssertionError("No bucket")));
+        assertThat(rollup.getInitiativeCount()).isEqualTo(writers);
+        assertThat(rollup.getExpectedSavings()).isEqualByComparingTo(new BigDecimal(1000 * writers));
+    }
+
+    private static Initiative undatedInitiative() {
+        Initiative initiative = new Initiative();
+        initiative.setSite("RACE");
+        initiative.setDiscipline("MECH");
+        initiative.setStatus("Pending");
+        initiative.setPriority("High");
+        initiative.setExpectedSavings(new BigDecimal("1000"));
+        return initiative;
+    }
+}
@@ -0,0 +1,116 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.dto.InitiativeFilter;
+import com.company.opexhub.entity.User;
+import com.company.opexhub.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streams a large export into an output stream that only counts bytes, checking along the way that
+ * the heap the export keeps alive does not grow with the number of rows written.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReportExportServiceTest {
+
+    private static final int ROWS = 100000;
+    private static final String DISCIPLINE = "EXPORT";
+    // Far more than a cursor chunk and a writer buffer, far less than the rows themselves
+    private static final long MAX_RETAINED_BYTES = 16L * 1024 * 1024;
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seedInitiatives() {
+        User user = userRepository.findByEmail("manoj.tiwari@godeepak.com")
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        // Ids well above anything the sequence hands out during the other tests
+        jdbcTemplate.update("INSERT INTO initiatives (id, version, title, description, status, priority,"
+                + " expected_savings, site, discipline, start_date, current_stage, progress_percentage,"
+                + " approved_stage_count, total_stage_count, workflow_event_count, requires_moc, requires_capex,"
+                + " created_at, updated_at, created_by)"
+                + " SELECT 50000000 + X, 0, 'Steam trap replacement ' || X, 'Replace failed steam traps on header ' || X,"
+                + " 'Pending', 'Medium', 1000 + X, 'NDS', ?, DATE '2025-04-01', 1, 0, 0, 11, 0, FALSE, FALSE,"
+                + " CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ? FROM SYSTEM_RANGE(1, ?)",
+                DISCIPLINE, user.getId(), ROWS);
+    }
+
+    @Test
+    void csvExportStreamsInConstantMemory() throws Exception {
+        assertStreamsInConstantMemory(ReportExportService.Format.CSV);
+    }
+
+    @Test
+    void xlsxExportStreamsInConstantMemory() throws Exception {
+        assertStreamsInConstantMemory(ReportExportService.Format.XLSX);
+    }
+
+    private void assertStreamsInConstantMemory(ReportExportService.Format format) throws Exception {
+        InitiativeFilter filter = new InitiativeFilter();
+        filter.setDiscipline(DISCIPLINE);
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream();
+
+        long rows = reportExportService.exportInitiatives(filter, format, out);
+
+        assertThat(rows).isEqualTo(ROWS);
+        assertThat(out.bytes).isGreaterThan((long) ROWS * 50 / (format == ReportExportService.Format.XLSX ? 10 : 1));
+        assertThat(out.samples).isGreaterThan(1);
+        assertThat(out.maxRetained).isLessThan(MAX_RETAINED_BYTES);
+    }
+
+    // Discards what is written; every half megabyte, collects and records the heap still in use
+    private static final class HeapSamplingOutputStream extends OutputStream {
+        private static final long SAMPLE_EVERY = 512 * 1024;
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final long baseline = usedAfterCollection();
+        private long bytes;
+        private long nextSample = SAMPLE_EVERY;
+        private int samples;
+        private long maxRetained;
+
+        @Override
+        public void write(int b) {
+            count(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count(len);
+        }
+
+        private void count(int len) {
+            bytes += len;
+            if (bytes >= nextSample) {
+                nextSample += SAMPLE_EVERY;
+                samples++;
+                maxRetained = Math.max(maxRetained, usedAfterCollection() - baseline);
+            }
+        }
+
+        private long usedAfterCollection() {
+            System.gc();
+            return memory.getHeapMemoryUsage().getUsed();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.dto.InitiativeRequest;
+import com.company.opexhub.dto.StageActionRequest;
+import com.company.opexhub.dto.WorkflowStageState;
+import com.company.opexhub.entity.Initiative;
+import com.company.opexhub.entity.User;
+import com.company.opexhub.entity.WorkflowTransaction;
+import com.company.opexhub.repository.UserRepository;
+import com.company.opexhub.repository.WorkflowTransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class WorkflowEventServiceTest {
+
+    @Autowired
+    private WorkflowEventService workflowEventService;
+
+    @Autowired
+    private WorkflowTransactionService workflowTransactionService;
+
+    @Autowired
+    private WorkflowOutboxDispatcher workflowOutboxDispatcher;
+
+    @Autowired
+    private WorkflowTransactionRepository workflowTransactionRepository;
+
+    @Autowired
+    private InitiativeService initiativeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void replayKeepsTheApproversActionDateNotTheDispatchTime() throws Exception {
+        User creator = userRepository.findByEmail("manoj.tiwari@godeepak.com")
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        InitiativeRequest request = new InitiativeRequest();
+        request.setTitle("Condensate return upgrade");
+        request.setPriority("Medium");
+        request.setExpectedSavings(new BigDecimal("45000"));
+        request.setSite("NDS");
+        request.setDiscipline("MECH");
+        Initiative initiative = initiativeService.createInitiative(request, creator.getId());
+        WorkflowTransaction stage = workflowTransactionRepository.findByInitiativeIdOrderByStageNumber(initiative.getId())
+                .stream()
+                .filter(transaction -> "pending".equals(transaction.getApproveStatus()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No pending stage"));
+
+        StageActionRequest approval = new StageActionRequest();
+        approval.setTransactionId(stage.getId());
+        approval.setAction("approved");
+        approval.setComment("Approved");
+        approval.setAssignedUserId(creator.getId());
+        workflowTransactionService.processStageAction(approval, stage.getPendingWith());
+        // The dispatcher records the event some time after the approver acted
+        Thread.sleep(100);
+        workflowOutboxDispatcher.dispatch();
+
+        WorkflowTransaction approved = workflowTransactionRepository.findById(stage.getId()).get();
+        WorkflowStageState replayed = workflowEventService.replay(initiative.getId()).stream()
+                .filter(state -> state.getStageNumber().equals(stage.getStageNumber()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Stage not replayed"));
+        assertThat(approved.getActionDate()).isNotNull();
+        assertThat(replayed.getApproveStatus()).isEqualTo("approved");
+        assertThat(replayed.getActionDate()).isEqualTo(approved.getActionDate());
+    }
+}
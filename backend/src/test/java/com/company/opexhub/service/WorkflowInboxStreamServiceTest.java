@@ -0,0 +1,120 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.entity.User;
+import com.company.opexhub.entity.WorkflowTransaction;
+import com.company.opexhub.repository.UserRepository;
+import com.company.opexhub.security.AccessTicketService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Holds many more idle inbox streams open than the server has request threads, which only works
+ * if a waiting stream holds no thread, checks what each open stream costs in retained heap, then
+ * checks they all still receive a delta.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "server.tomcat.threads.max=8", "server.tomcat.threads.min-spare=8" })
+@ActiveProfiles("test")
+class WorkflowInboxStreamServiceTest {
+
+    private static final int CONNECTIONS = 1000;
+    private static final int REQUEST_THREADS = 8;
+    // About 115 KB is measured, nearly all of it Tomcat's request and response buffers, which stay
+    // bound to the connection while it is in async mode; the stream's own queue and emitter are small
+    private static final long MAX_BYTES_PER_STREAM = 144 * 1024;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AccessTicketService accessTicketService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Test
+    void idleStreamsHoldNoRequestThreads() throws Exception {
+        User user = userRepository.findByEmail("amit.patel@godeepak.com")
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        List<Socket> sockets = new ArrayList<>(CONNECTIONS);
+        long heapBefore = usedHeapAfterCollection();
+        try {
+            for (int i = 0; i < CONNECTIONS; i++) {
+                Socket socket = new Socket("localhost", port);
+                socket.setSoTimeout(10000);
+                sockets.add(socket);
+                String ticket = accessTicketService.issue(user.getId(), AccessTicketService.INBOX_STREAM);
+                socket.getOutputStream().write(("GET /api/workflow-transactions/stream?ticket=" + ticket + " HTTP/1.1\r\n"
+                        + "Host: localhost\r\nAccept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                awaitEvent(socket, "event:connected");
+            }
+
+            assertThat(requestThreads()).isLessThanOrEqualTo(REQUEST_THREADS);
+            long bytesPerStream = (usedHeapAfterCollection() - heapBefore) / CONNECTIONS;
+            assertThat(bytesPerStream).isLessThan(MAX_BYTES_PER_STREAM);
+            // With every stream open, ordinary requests still find a free thread
+            assertThat(restTemplate.postForEntity("/api/auth/signin",
+                    Collections.singletonMap("email", "nobody@godeepak.com"), String.class).getStatusCode())
+                    .isEqualTo(HttpStatus.BAD_REQUEST);
+
+            // A stage leaving the user's inbox reaches every one of their streams
+            WorkflowTransaction stage = new WorkflowTransaction(1L, 3, "Engineering Head Approval", "NDS", "EH", null);
+            stage.setId(Long.MAX_VALUE);
+            applicationEventPublisher.publishEvent(WorkflowInboxEvent.removed(stage, user.getEmail()));
+            for (Socket socket : sockets) {
+                awaitEvent(socket, "event:inbox");
+            }
+        } finally {
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+        }
+    }
+
+    private static long requestThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("http-nio-") && thread.getName().contains("-exec-"))
+                .count();
+    }
+
+    private static long usedHeapAfterCollection() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void awaitEvent(Socket socket, String marker) throws IOException {
+        InputStream in = socket.getInputStream();
+        StringBuilder received = new StringBuilder();
+        byte[] buffer = new byte[1024];
+        while (received.indexOf(marker) < 0) {
+            int read = in.read(buffer);
+            if (read < 0) {
+                throw new AssertionError("Stream closed before " + marker + ": " + received);
+            }
+            received.append(new String(buffer, 0, read, StandardCharsets.US_ASCII));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.dto.InitiativeRequest;
+import com.company.opexhub.dto.StageActionRequest;
+import com.company.opexhub.entity.Initiative;
+import com.company.opexhub.entity.User;
+import com.company.opexhub.entity.WorkflowOutboxEvent;
+import com.company.opexhub.entity.WorkflowTransaction;
+import com.company.opexhub.repository.InitiativeRepository;
+import com.company.opexhub.repository.UserRepository;
+import com.company.opexhub.repository.WorkflowOutboxRepository;
+import com.company.opexhub.repository.WorkflowTransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest(properties = "workflow.outbox.retry-backoff-ms=1")
+@ActiveProfiles("test")
+class WorkflowOutboxDispatcherTest {
+
+    @Autowired
+    private WorkflowOutboxDispatcher workflowOutboxDispatcher;
+
+    @SpyBean
+    private WorkflowTransactionService workflowTransactionService;
+
+    @Autowired
+    private WorkflowOutboxRepository workflowOutboxRepository;
+
+    @Autowired
+    private WorkflowTransactionRepository workflowTransactionRepository;
+
+    @Autowired
+    private InitiativeService initiativeService;
+
+    @Autowired
+    private InitiativeRepository initiativeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void failingEventIsRetriedUntilItApplies() throws Exception {
+        User creator = userRepository.findByEmail("manoj.tiwari@godeepak.com")
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        InitiativeRequest request = new InitiativeRequest();
+        request.setTitle("Boiler blowdown heat recovery");
+        request.setPriority("High");
+        request.setExpectedSavings(new BigDecimal("120000"));
+        request.setSite("NDS");
+        request.setDiscipline("MECH");
+        Initiative initiative = initiativeService.createInitiative(request, creator.getId());
+        WorkflowTransaction stage = workflowTransactionRepository.findByInitiativeIdOrderByStageNumber(initiative.getId())
+                .stream()
+                .filter(transaction -> "pending".equals(transaction.getApproveStatus()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No pending stage"));
+
+        StageActionRequest approval = new StageActionRequest();
+        approval.setTransactionId(stage.getId());
+        approval.setAction("approved");
+        approval.setComment("Approved");
+        approval.setAssignedUserId(creator.getId());
+        workflowTransactionService.processStageAction(approval, stage.getPendingWith());
+        Integer stageBefore = initiativeRepository.findById(initiative.getId()).get().getCurrentStage();
+
+        // Each failing dispatch tries the event twice: once in the batch, once on its own
+        int failingDispatches = 4;
+        ObjectOptimisticLockingFailureException conflict =
+                new ObjectOptimisticLockingFailureException(Initiative.class, initiative.getId());
+        doThrow(conflict).doThrow(conflict).doThrow(conflict).doThrow(conflict)
+                .doThrow(conflict).doThrow(conflict).doThrow(conflict).doThrow(conflict)
+                .doCallRealMethod()
+                .when(workflowTransactionService).applyStageAction(any());
+
+        for (int i = 0; i < failingDispatches; i++) {
+            Thread.sleep(50);
+            workflowOutboxDispatcher.dispatch();
+        }
+
+        // More failures than the old attempt cap, and the event is still queued and visible
+        List<WorkflowOutboxEvent> retrying = workflowOutboxDispatcher.getRetryingEvents(50);
+        assertThat(retrying).filteredOn(event -> stage.getId().equals(event.getTransactionId()))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getStatus()).isEqualTo("pending");
+                    assertThat(event.getAttempts()).isEqualTo(failingDispatches);
+                    assertThat(event.getLastError()).isNotBlank();
+                });
+        assertThat(initiativeRepository.findById(initiative.getId()).get().getCurrentStage()).isEqualTo(stageBefore);
+
+        // Skip whatever backoff is left, as an admin would through the analytics endpoint
+        WorkflowOutboxEvent event = retrying.stream()
+                .filter(candidate -> stage.getId().equals(candidate.getTransactionId()))
+                .findFirst().get();
+        workflowOutboxDispatcher.retryNow(event.getId());
+        workflowOutboxDispatcher.dispatch();
+
+        assertThat(workflowOutboxRepository.findById(event.getId())).isEmpty();
+        assertThat(initiativeRepository.findById(initiative.getId()).get().getCurrentStage()).isGreaterThan(stageBefore);
+        assertThat(workflowTransactionRepository.findByInitiativeIdOrderByStageNumber(initiative.getId()))
+                .anyMatch(transaction -> transaction.getStageNumber() > stage.getStageNumber());
+    }
+}
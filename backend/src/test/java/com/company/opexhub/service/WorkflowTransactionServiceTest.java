@@ -0,0 +1,145 @@
+package com.company.opexhub.service;
+
+import com.company.opexhub.dto.InitiativeRequest;
+import com.company.opexhub.dto.StageActionRequest;
+import com.company.opexhub.dto.WorkflowTransactionDetailDTO;
+import com.company.opexhub.entity.Initiative;
+import com.company.opexhub.entity.User;
+import com.company.opexhub.entity.WorkflowTransaction;
+import com.company.opexhub.repository.UserRepository;
+import com.company.opexhub.repository.WorkflowOutboxRepository;
+import com.company.opexhub.repository.WorkflowTransactionRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class WorkflowTransactionServiceTest {
+
+    @Autowired
+    private WorkflowTransactionService workflowTransactionService;
+
+    @Autowired
+    private WorkflowTransactionRepository workflowTransactionRepository;
+
+    @Autowired
+    private WorkflowOutboxRepository workflowOutboxRepository;
+
+    @Autowired
+    private InitiativeService initiativeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void visibleTransactionsCostTheSameStatementsForAnyStageCount() {
+        List<User> users = userRepository.findAll();
+        seedStages(900001L, 2, users);
+        seedStages(900002L, 11, users);
+        // Fills the workflow definition cache, which is shared by both initiatives
+        workflowTransactionService.getVisibleWorkflowTransactions(900001L);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<WorkflowTransactionDetailDTO> twoStages = workflowTransactionService.getVisibleWorkflowTransactions(900001L);
+        long twoStageStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<WorkflowTransactionDetailDTO> elevenStages = workflowTransactionService.getVisibleWorkflowTransactions(900002L);
+        long elevenStageStatements = statistics.getPrepareStatementCount();
+
+        assertThat(twoStages).isNotEmpty();
+        assertThat(elevenStages.size()).isGreaterThan(twoStages.size());
+        // The transactions, their assignees and the next-stage users
+        assertThat(twoStageStatements).isBetween(1L, 3L);
+        assertThat(elevenStageStatements).isEqualTo(twoStageStatements);
+    }
+
+    @Test
+    void concurrentApprovalsOfOneStageLetExactlyOneThrough() throws Exception {
+        User creator = userRepository.findByEmail("manoj.tiwari@godeepak.com")
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        InitiativeRequest request = new InitiativeRequest();
+        request.setTitle("Cooling tower fan VFDs");
+        request.setPriority("Medium");
+        request.setExpectedSavings(new BigDecimal("80000"));
+        request.setSite("NDS");
+        request.setDiscipline("ELEC");
+        Initiative initiative = initiativeService.createInitiative(request, creator.getId());
+        WorkflowTransaction stage = workflowTransactionRepository.findByInitiativeIdOrderByStageNumber(initiative.getId())
+                .stream()
+                .filter(transaction -> "pending".equals(transaction.getApproveStatus()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No pending stage"));
+
+        int approvers = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(approvers);
+        int succeeded = 0;
+        List<String> failures = new ArrayList<>();
+        try {
+            List<Future<WorkflowTransaction>> results = new ArrayList<>();
+            for (int i = 0; i < approvers; i++) {
+                StageActionRequest approval = new StageActionRequest();
+                approval.setTransactionId(stage.getId());
+                approval.setAction("approved");
+                approval.setComment("Approved by approver " + i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return workflowTransactionService.processStageAction(approval, stage.getPendingWith());
+                }));
+            }
+            start.countDown();
+            for (Future<WorkflowTransaction> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause().getMessage());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(succeeded).isEqualTo(1);
+        assertThat(failures).hasSize(approvers - 1).containsOnly("Transaction is not pending");
+        assertThat(workflowOutboxRepository.findAll())
+                .filteredOn(event -> stage.getId().equals(event.getTransactionId()))
+                .hasSize(1);
+    }
+
+    // Every stage but the last approved, each assigned to a different user
+    private void seedStages(Long initiativeId, int stageCount, List<User> users) {
+        List<WorkflowTransaction> transactions = new ArrayList<>();
+        for (int stage = 1; stage <= stageCount; stage++) {
+            User assignee = users.get(stage % users.size());
+            WorkflowTransaction transaction = new WorkflowTransaction(initiativeId, stage, "Stage " + stage,
+                    "NDS", assignee.getRole(), assignee.getEmail());
+            transaction.setAssignedUserId(assignee.getId());
+            transaction.setApproveStatus(stage < stageCount ? "approved" : "pending");
+            transactions.add(transaction);
+        }
+        workflowTransactionRepository.saveAll(transactions);
+    }
+}
@@ -5,6 +5,7 @@ import { Button } from "@/components/ui/button";
 import { Input } from "@/components/ui/input";
 import { DropdownMenu, DropdownMenuContent, DropdownMenuItem, DropdownMenuLabel, DropdownMenuSeparator, DropdownMenuTrigger } from "@/components/ui/dropdown-menu";
 import { Badge } from "@/components/ui/badge";
+import { useInboxStream } from "@/hooks/useWorkflowTransactions";
 
 interface User {
   id: string;
@@ -23,6 +24,8 @@ interface AppLayoutProps {
 }
 
 export function AppLayout({ children, user, onLogout }: AppLayoutProps) {
+  useInboxStream();
+
   return (
     <SidebarProvider>
       <div className="min-h-screen flex w-full bg-background">
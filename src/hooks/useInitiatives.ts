@@ -6,6 +6,18 @@ export const useInitiatives = (filters?: {
   status?: string;
   site?: string;
   search?: string;
+  discipline?: string;
+  priority?: string;
+  currentStage?: number;
+  startDateFrom?: string;
+  startDateTo?: string;
+  endDateFrom?: string;
+  endDateTo?: string;
+  minSavings?: number;
+  maxSavings?: number;
+  size?: number;
+  sort?: string;
+  fields?: string;
 }) => {
   return useQuery({
     queryKey: ['initiatives', filters],
@@ -50,6 +62,17 @@ export const useInitiative = (id: number) => {
   });
 };
 
+export const useImportInitiatives = () => {
+  const queryClient = useQueryClient();
+
+  return useMutation({
+    mutationFn: (file: File) => initiativeAPI.importCsv(file),
+    onSuccess: () => {
+      queryClient.invalidateQueries({ queryKey: ['initiatives'] });
+    },
+  });
+};
+
 export const useCreateInitiative = () => {
   const queryClient = useQueryClient();
   
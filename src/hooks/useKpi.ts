@@ -0,0 +1,37 @@
+import { useQuery } from '@tanstack/react-query';
+import { kpiAPI } from '@/lib/api';
+
+export interface KpiGroup {
+  key: string;
+  count: number;
+  expectedSavings: number;
+  actualSavings: number;
+}
+
+export interface KpiSummary {
+  total: KpiGroup;
+  byStatus: KpiGroup[];
+  bySite: KpiGroup[];
+  byPriority: KpiGroup[];
+}
+
+export const useKpiSummary = (filters?: {
+  site?: string;
+  discipline?: string;
+  startDateFrom?: string;
+  startDateTo?: string;
+  endDateFrom?: string;
+  endDateTo?: string;
+}) => {
+  return useQuery({
+    queryKey: ['kpiSummary', filters],
+    queryFn: async (): Promise<KpiSummary | null> => {
+      try {
+        return await kpiAPI.getSummary(filters);
+      } catch (error) {
+        console.warn('Failed to fetch KPI summary from API, using mock data:', error);
+        return null;
+      }
+    },
+  });
+};
@@ -1,3 +1,4 @@
+import { useEffect } from 'react';
 import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
 import { workflowTransactionAPI } from '@/lib/api';
 
@@ -33,6 +34,64 @@ export const usePendingTransactionsBySiteAndRole = (site: string, roleCode: stri
   });
 };
 
+export const usePendingInbox = (params?: { site?: string; page?: number; size?: number }) => {
+  return useQuery({
+    queryKey: ['pending-transactions', 'inbox', params],
+    queryFn: () => workflowTransactionAPI.getInbox(params),
+  });
+};
+
+// Refreshes inbox queries when the backend pushes a delta for the signed-in user
+export const useInboxStream = (site?: string) => {
+  const queryClient = useQueryClient();
+
+  useEffect(() => {
+    let source: EventSource | undefined;
+    let retry: ReturnType<typeof setTimeout> | undefined;
+    let reconnecting = false;
+    let closed = false;
+    const refresh = () => {
+      queryClient.invalidateQueries({ queryKey: ['pending-transactions'] });
+      queryClient.invalidateQueries({ queryKey: ['workflow-transactions'] });
+      queryClient.invalidateQueries({ queryKey: ['visible-workflow-transactions'] });
+    };
+    const scheduleReconnect = () => {
+      reconnecting = true;
+      if (!closed) retry = setTimeout(connect, 5000);
+    };
+    // Stream tickets work once, so every reconnect fetches a new one instead of letting
+    // EventSource retry the spent URL
+    const connect = async () => {
+      try {
+        const url = await workflowTransactionAPI.getInboxStreamUrl(site);
+        if (closed) return;
+        source = new EventSource(url);
+      } catch {
+        scheduleReconnect();
+        return;
+      }
+      source.addEventListener('connected', () => {
+        // Deltas pushed while disconnected were missed
+        if (reconnecting) refresh();
+        reconnecting = false;
+      });
+      source.addEventListener('inbox', refresh);
+      // Sent when deltas were dropped for this connection
+      source.addEventListener('resync', refresh);
+      source.onerror = () => {
+        source?.close();
+        scheduleReconnect();
+      };
+    };
+    connect();
+    return () => {
+      closed = true;
+      clearTimeout(retry);
+      source?.close();
+    };
+  }, [queryClient, site]);
+};
+
 export const useCurrentPendingStage = (initiativeId: number) => {
   return useQuery({
     queryKey: ['current-pending-stage', initiativeId],
@@ -49,18 +108,39 @@ export const useProgressPercentage = (initiativeId: number) => {
   });
 };
 
+// The next stage, progress and initiative status are applied by the backend outbox dispatcher
+// after the approval commits; poll with backoff until it reports the action as applied
+const waitUntilApplied = async (transactionId: number) => {
+  let delay = 250;
+  let waited = 0;
+  while (waited < 120000) {
+    await new Promise(resolve => setTimeout(resolve, delay));
+    waited += delay;
+    try {
+      if (await workflowTransactionAPI.isStageActionApplied(transactionId)) return;
+    } catch {
+      // Keep polling; a failed check says nothing about the dispatcher
+    }
+    delay = Math.min(delay * 2, 5000);
+  }
+};
+
 export const useProcessStageAction = () => {
   const queryClient = useQueryClient();
   
   return useMutation({
     mutationFn: workflowTransactionAPI.processStageAction,
-    onSuccess: () => {
-      queryClient.invalidateQueries({ queryKey: ['workflow-transactions'] });
-      queryClient.invalidateQueries({ queryKey: ['visible-workflow-transactions'] });
-      queryClient.invalidateQueries({ queryKey: ['pending-transactions'] });
-      queryClient.invalidateQueries({ queryKey: ['current-pending-stage'] });
-      queryClient.invalidateQueries({ queryKey: ['progress-percentage'] });
-      queryClient.invalidateQueries({ queryKey: ['initiatives'] });
+    onSuccess: (_, variables) => {
+      const invalidate = () => {
+        queryClient.invalidateQueries({ queryKey: ['workflow-transactions'] });
+        queryClient.invalidateQueries({ queryKey: ['visible-workflow-transactions'] });
+        queryClient.invalidateQueries({ queryKey: ['pending-transactions'] });
+        queryClient.invalidateQueries({ queryKey: ['current-pending-stage'] });
+        queryClient.invalidateQueries({ queryKey: ['progress-percentage'] });
+        queryClient.invalidateQueries({ queryKey: ['initiatives'] });
+      };
+      invalidate();
+      waitUntilApplied(variables.transactionId).then(invalidate);
     },
   });
 };
\ No newline at end of file
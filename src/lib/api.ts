@@ -64,8 +64,20 @@ export const initiativeAPI = {
     status?: string;
     site?: string;
     search?: string;
+    discipline?: string;
+    priority?: string;
+    currentStage?: number;
+    startDateFrom?: string;
+    startDateTo?: string;
+    endDateFrom?: string;
+    endDateTo?: string;
+    minSavings?: number;
+    maxSavings?: number;
     page?: number;
     size?: number;
+    sort?: string;
+    // Sparse fieldset, e.g. 'title,status'; rows then carry only those keys plus id
+    fields?: string;
   }) => {
     const response = await api.get('/initiatives', { params });
     return response.data;
@@ -91,6 +103,17 @@ export const initiativeAPI = {
     const response = await api.post('/initiatives', initiativeData);
     return response.data;
   },
+
+  // CSV with a header row (title, priority, expectedSavings, site, discipline required); the
+  // response lists the rows that failed by line number
+  importCsv: async (file: File) => {
+    const formData = new FormData();
+    formData.append('file', file);
+    const response = await api.post('/initiatives/import', formData, {
+      headers: { 'Content-Type': 'multipart/form-data' },
+    });
+    return response.data;
+  },
   
   update: async (id: number, initiativeData: any) => {
     const response = await api.put(`/initiatives/${id}`, initiativeData);
@@ -100,6 +123,12 @@ export const initiativeAPI = {
   delete: async (id: number) => {
     const response = await api.delete(`/initiatives/${id}`);
     return response.data;
+  },
+
+  // Deletes the initiatives and all their dependent rows; data lists the ids actually deleted
+  bulkDelete: async (ids: number[]) => {
+    const response = await api.post('/initiatives/bulk-delete', ids);
+    return response.data;
   }
 };
 
@@ -260,6 +289,18 @@ export const workflowTransactionAPI = {
   
   getPendingBySiteAndRole: (site: string, roleCode: string) => 
     api.get(`/workflow-transactions/pending/${site}/${roleCode}`).then(res => res.data),
+
+  getInbox: (params?: { site?: string; page?: number; size?: number }) =>
+    api.get('/workflow-transactions/inbox', { params }).then(res => res.data),
+
+  // EventSource cannot send an Authorization header, so the stream is opened with a one-time
+  // ticket rather than the session token; each URL works for a single connect
+  getInboxStreamUrl: async (site?: string) => {
+    const response = await api.post('/workflow-transactions/stream-ticket');
+    const params = new URLSearchParams({ ticket: response.data.data.ticket });
+    if (site) params.set('site', site);
+    return `${API_BASE_URL}/workflow-transactions/stream?${params.toString()}`;
+  },
   
   getCurrentPendingStage: (initiativeId: number) => 
     api.get(`/workflow-transactions/current-pending/${initiativeId}`).then(res => res.data),
@@ -270,6 +311,9 @@ export const workflowTransactionAPI = {
   getVisibleTransactions: (initiativeId: number) =>
     api.get(`/workflow-transactions/visible/${initiativeId}`).then(res => res.data),
 
+  isStageActionApplied: (transactionId: number): Promise<boolean> =>
+    api.get(`/workflow-transactions/${transactionId}/applied`).then(res => res.data),
+
   processStageAction: (data: {
     transactionId: number;
     action: string;
@@ -335,4 +379,46 @@ export const monthlyMonitoringAPI = {
   }
 };
 
+// KPI API
+export const kpiAPI = {
+  getSummary: async (params?: {
+    site?: string;
+    discipline?: string;
+    startDateFrom?: string;
+    startDateTo?: string;
+    endDateFrom?: string;
+    endDateTo?: string;
+  }) => {
+    const response = await api.get('/kpi/summary', { params });
+    return response.data;
+  }
+};
+
+// Report API
+export const reportsAPI = {
+  // Streamed by the server; navigating to the URL lets the browser save it without buffering.
+  // A navigation cannot carry the Authorization header, so the URL holds a one-time ticket
+  // Filters are the /api/initiatives ones; dates are yyyy-MM-dd
+  getExportUrl: async (format: 'csv' | 'xlsx', filters?: {
+    site?: string;
+    status?: string;
+    discipline?: string;
+    priority?: string;
+    currentStage?: number;
+    startDateFrom?: string;
+    startDateTo?: string;
+    endDateFrom?: string;
+    endDateTo?: string;
+    minSavings?: number;
+    maxSavings?: number;
+  }) => {
+    const response = await api.post('/reports/export-ticket');
+    const params = new URLSearchParams({ format, ticket: response.data.data.ticket });
+    Object.entries(filters || {}).forEach(([key, value]) => {
+      if (value !== undefined && value !== null && value !== '') params.set(key, String(value));
+    });
+    return `${API_BASE_URL}/reports/export?${params.toString()}`;
+  }
+};
+
 export default api;
\ No newline at end of file
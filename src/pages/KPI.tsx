@@ -1,5 +1,6 @@
 import { User } from "@/lib/mockData";
 import { useInitiatives } from "@/hooks/useInitiatives";
+import { useKpiSummary, KpiGroup, KpiSummary } from "@/hooks/useKpi";
 import { Card, CardContent, CardHeader, CardTitle } from "@/components/ui/card";
 import { Progress } from "@/components/ui/progress";
 import { Badge } from "@/components/ui/badge";
@@ -12,7 +13,8 @@ interface KPIProps {
 }
 
 export default function KPI({ user }: KPIProps) {
-  const { data: initiativesData, isLoading } = useInitiatives();
+  const { data: kpiSummary, isLoading } = useKpiSummary();
+  const { data: recentData } = useInitiatives({ size: 5, sort: 'createdAt,desc', fields: 'title,site,status' });
   
   // Mock data fallback for KPI
   const mockInitiatives = [
@@ -42,46 +44,54 @@ export default function KPI({ user }: KPIProps) {
     }
   ];
   
-  // Handle both API response format and mock data format
-  const initiatives = (Array.isArray(initiativesData?.content) && initiativesData.content.length > 0) 
-    ? initiativesData.content 
-    : (Array.isArray(initiativesData) && initiativesData.length > 0) 
-    ? initiativesData 
+  // Aggregates come from the server; the mock list is only summarised when the API is unavailable
+  const summarizeMock = (): KpiSummary => {
+    const group = (key: string, items: any[]): KpiGroup => ({
+      key,
+      count: items.length,
+      expectedSavings: items.reduce((sum, i) => sum + (i.expectedSavings || 0), 0),
+      actualSavings: 0,
+    });
+    const groupBy = (field: string) => Object.entries(
+      mockInitiatives.reduce((acc: any, i: any) => {
+        (acc[i[field]] = acc[i[field]] || []).push(i);
+        return acc;
+      }, {})
+    ).map(([key, items]) => group(key, items as any[]));
+    return {
+      total: group('total', mockInitiatives),
+      byStatus: groupBy('status'),
+      bySite: groupBy('site'),
+      byPriority: groupBy('priority'),
+    };
+  };
+  const summary: KpiSummary = kpiSummary ?? summarizeMock();
+  const recentInitiatives = Array.isArray(recentData?.content) && recentData.content.length > 0
+    ? recentData.content
     : mockInitiatives;
+  const statusGroup = (status: string) => summary.byStatus.find((g) => g.key === status);
+  const countOf = (status: string) => statusGroup(status)?.count ?? 0;
 
   if (isLoading) {
     return <div className="p-6">Loading KPI data...</div>;
   }
 
   // Calculate KPIs with proper status categories
-  const totalInitiatives = initiatives.length;
+  const totalInitiatives = summary.total.count;
   
   // Status Categories as per requirements
-  const pendingInitiatives = initiatives.filter((i: any) => i.status === 'Pending').length;
-  const acceptedInitiatives = initiatives.filter((i: any) => i.status === 'Accepted').length;
-  const underApprovalsInitiatives = initiatives.filter((i: any) => i.status === 'Under Approvals').length;
-  const approvedInitiatives = initiatives.filter((i: any) => i.status === 'Approved').length;
-  const inProgressInitiatives = initiatives.filter((i: any) => i.status === 'In Progress' || i.status === 'Planning').length;
-  const implementedInitiatives = initiatives.filter((i: any) => i.status === 'Implemented').length;
-  const validatedInitiatives = initiatives.filter((i: any) => i.status === 'Validated').length;
-  const closedInitiatives = initiatives.filter((i: any) => i.status === 'Closed').length;
-  const droppedInitiatives = initiatives.filter((i: any) => i.status === 'Dropped').length;
+  const pendingInitiatives = countOf('Pending');
+  const acceptedInitiatives = countOf('Accepted');
+  const underApprovalsInitiatives = countOf('Under Approvals');
+  const approvedInitiatives = countOf('Approved');
+  const inProgressInitiatives = countOf('In Progress') + countOf('Planning');
+  const implementedInitiatives = countOf('Implemented');
+  const validatedInitiatives = countOf('Validated');
+  const closedInitiatives = countOf('Closed');
+  const droppedInitiatives = countOf('Dropped');
   const completedInitiatives = implementedInitiatives + validatedInitiatives + closedInitiatives;
-  const totalExpectedSavings = initiatives.reduce((sum: number, i: any) => {
-    // Handle both string format (₹8.5L) and number format
-    const savings = typeof i.expectedSavings === 'string' 
-      ? parseFloat(i.expectedSavings.replace(/[₹L,]/g, '')) || 0
-      : i.expectedSavings || 0;
-    return sum + savings;
-  }, 0);
-  const completedSavings = initiatives
-    .filter((i: any) => i.status === 'Completed')
-    .reduce((sum: number, i: any) => {
-      const savings = typeof i.expectedSavings === 'string' 
-        ? parseFloat(i.expectedSavings.replace(/[₹L,]/g, '')) || 0
-        : i.expectedSavings || 0;
-      return sum + savings;
-    }, 0);
+  const totalExpectedSavings = Number(summary.total.expectedSavings) || 0;
+  const completedSavings = Number(statusGroup('Completed')?.expectedSavings) || 0;
 
   const completionRate = totalInitiatives > 0 ? (completedInitiatives / totalInitiatives) * 100 : 0;
   const savingsRealizationRate = totalExpectedSavings > 0 ? (completedSavings / totalExpectedSavings) * 100 : 0;
@@ -100,27 +110,15 @@ export default function KPI({ user }: KPIProps) {
   ].filter(item => item.value > 0); // Only show statuses with initiatives
 
   // Site distribution
-  const siteData = initiatives.reduce((acc: any, initiative: any) => {
-    const site = initiative.site || 'Unknown';
-    acc[site] = (acc[site] || 0) + 1;
-    return acc;
-  }, {});
-
-  const siteChartData = Object.entries(siteData).map(([site, count]) => ({
-    site,
-    count,
+  const siteChartData = summary.bySite.map((g) => ({
+    site: g.key || 'Unknown',
+    count: g.count,
   }));
 
   // Priority distribution
-  const priorityData = initiatives.reduce((acc: any, initiative: any) => {
-    const priority = initiative.priority || 'Unknown';
-    acc[priority] = (acc[priority] || 0) + 1;
-    return acc;
-  }, {});
-
-  const priorityChartData = Object.entries(priorityData).map(([priority, count]) => ({
-    priority,
-    count,
+  const priorityChartData = summary.byPriority.map((g) => ({
+    priority: g.key || 'Unknown',
+    count: g.count,
   }));
 
   return (
@@ -247,7 +245,7 @@ export default function KPI({ user }: KPIProps) {
               </CardHeader>
               <CardContent>
                 <div className="space-y-4">
-                  {initiatives.slice(0, 5).map((initiative: any) => (
+                  {recentInitiatives.slice(0, 5).map((initiative: any) => (
                     <div key={initiative.id} className="flex items-center justify-between">
                       <div className="flex-1">
                         <p className="font-medium text-sm">{initiative.title}</p>
@@ -1,6 +1,7 @@
 import { useState } from "react";
 import { User } from "@/lib/mockData";
 import { useInitiatives } from "@/hooks/useInitiatives";
+import { reportsAPI } from "@/lib/api";
 import { Card, CardContent, CardHeader, CardTitle } from "@/components/ui/card";
 import { Button } from "@/components/ui/button";
 import { Badge } from "@/components/ui/badge";
@@ -9,6 +10,7 @@ import { Table, TableBody, TableCell, TableHead, TableHeader, TableRow } from "@
 import { Tabs, TabsContent, TabsList, TabsTrigger } from "@/components/ui/tabs";
 import { LineChart, Line, XAxis, YAxis, CartesianGrid, Tooltip, ResponsiveContainer, BarChart, Bar } from 'recharts';
 import { Download, Calendar, TrendingUp, FileText, Filter } from "lucide-react";
+import { format, startOfWeek, endOfWeek, startOfMonth, endOfMonth, startOfQuarter, endOfQuarter, startOfYear, endOfYear } from "date-fns";
 
 interface ReportsProps {
   user: User;
@@ -55,6 +57,23 @@ export default function Reports({ user }: ReportsProps) {
   const inProgressCount = filteredInitiatives.filter((i: any) => i.status === 'In Progress').length;
   const avgSavingsPerInitiative = filteredInitiatives.length > 0 ? totalSavings / filteredInitiatives.length : 0;
 
+  // The current week, month, quarter or year, matched against initiative start dates
+  const getPeriodRange = (period: string) => {
+    const today = new Date();
+    const [from, to] = period === 'weekly' ? [startOfWeek(today), endOfWeek(today)]
+      : period === 'quarterly' ? [startOfQuarter(today), endOfQuarter(today)]
+      : period === 'yearly' ? [startOfYear(today), endOfYear(today)]
+      : [startOfMonth(today), endOfMonth(today)];
+    return { startDateFrom: format(from, 'yyyy-MM-dd'), startDateTo: format(to, 'yyyy-MM-dd') };
+  };
+
+  const handleExport = async (exportFormat: 'csv' | 'xlsx') => {
+    window.location.href = await reportsAPI.getExportUrl(exportFormat, {
+      site: selectedSite === 'all' ? undefined : selectedSite,
+      ...getPeriodRange(selectedPeriod),
+    });
+  };
+
   const handleDownloadReport = (reportType: string) => {
     // Mock download functionality
     console.log(`Downloading ${reportType} report for ${selectedSite} site(s) - ${selectedPeriod} period`);
@@ -296,7 +315,7 @@ export default function Reports({ user }: ReportsProps) {
                 </Button>
                 
                 <Button 
-                  onClick={() => handleDownloadReport('Detailed Initiative Report')}
+                  onClick={() => handleExport('xlsx')}
                   variant="outline"
                   className="w-full"
                 >
@@ -314,7 +333,7 @@ export default function Reports({ user }: ReportsProps) {
                 </Button>
                 
                 <Button 
-                  onClick={() => handleDownloadReport('Raw Data')}
+                  onClick={() => handleExport('csv')}
                   variant="outline"
                   className="w-full"
                 >